@@ -0,0 +1,78 @@
+package project.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import project.crewman.Crewman;
+import project.crewman.concrete.Jedi;
+import project.crewman.concrete.Sith;
+import project.enums.Affiliation;
+import project.enums.AssaultEngine;
+import project.sector.Sector;
+import project.warships.Warship;
+import project.warships.concrete.RepublicCruiser;
+import project.warships.concrete.SeparatistDestroyer;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sector.assault() on a single generated sector, across ship counts, Separatist/Republic ratios and assault engines
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AssaultBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int ships;
+
+    @Param({"0.1", "0.5", "0.9"})
+    public double separatistRatio;
+
+    @Param({"SEGMENT_TREE", "UNION_FIND"})
+    public AssaultEngine engine;
+
+    private Sector sector;
+
+    /**
+     * an assault destroys ships, every invocation gets a fresh sector
+     */
+    @Setup(Level.Invocation)
+    public void setup() {
+        Random random = new Random(42);
+        sector = new Sector(1, "Benchmark", Affiliation.REPUBLIC);
+        sector.setAssaultEngine(engine);
+        for (int i = 1; i <= ships; i++) {
+            ArrayList<Crewman> crew = new ArrayList<>();
+            int coordinate = random.nextInt(ships * 10);
+            Warship warship;
+            if (random.nextDouble() < separatistRatio) {
+                crew.add(new Sith(i, "Sith" + i, random.nextInt(500), random.nextInt(200), random.nextInt(150)));
+                warship = new SeparatistDestroyer(i, "Destroyer" + i, sector, coordinate, crew);
+            } else {
+                crew.add(new Jedi(i, "Jedi" + i, random.nextInt(500), random.nextInt(200), random.nextInt(150)));
+                warship = new RepublicCruiser(i, "Cruiser" + i, sector, coordinate, crew);
+            }
+            sector.addWarship(warship);
+        }
+    }
+
+    @Benchmark
+    public Sector assault() {
+        sector.assault();
+        return sector;
+    }
+}
@@ -0,0 +1,87 @@
+package project.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import project.enums.EventType;
+import project.event.Event;
+import project.event.EventHandler;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * events/sec of EventHandler.handleEvents() for each EventType,
+ * on the entities of a bundled scenario with random (seeded) event arguments
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventHandlerBenchmark {
+    private static final int EVENTS = 10_000;
+
+    @Param({"large1", "gen100k"})
+    public String fixture;
+
+    @Param
+    public EventType type;
+
+    private String path;
+    private ArrayList<Event> events;
+    private Fixtures.World world;
+
+    @Setup(Level.Trial)
+    public void setupEvents() {
+        path = Fixtures.path(fixture);
+        Fixtures.World sizes = Fixtures.load(path);
+        int sectors = sizes.sectors.size();
+        int warships = sizes.warships.size();
+        int crewMen = sizes.crewMen.size();
+        Random random = new Random(42);
+        events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            int w1 = 1 + random.nextInt(warships);
+            int w2 = 1 + random.nextInt(warships);
+            int s = 1 + random.nextInt(sectors);
+            int c = 1 + random.nextInt(crewMen);
+            events.add(switch (type) {
+                case ATTACK -> new Event(type, w1, w2);
+                case ASSAULT -> new Event(type, s);
+                case JUMP_TO_SECTOR -> new Event(type, w1, s, random.nextInt(1000));
+                case VISIT_COROUSANT -> new Event(type, w1);
+                case ADD_CREWMAN, REMOVE_CREWMAN -> new Event(type, c, w1);
+                case TRAIN_OFFICER -> new Event(type, c);
+                case UPGRADE_SHIELD, UPGRADE_ARMAMENT -> new Event(type, w1, 1 + random.nextInt(100));
+            });
+        }
+    }
+
+    /**
+     * events change the world, every invocation starts from a freshly parsed one
+     */
+    @Setup(Level.Invocation)
+    public void setupWorld() {
+        world = Fixtures.load(path);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public Fixtures.World handleEvents() {
+        new EventHandler(world.sectors, world.warships, world.crewMen, events).handleEvents();
+        return world;
+    }
+}
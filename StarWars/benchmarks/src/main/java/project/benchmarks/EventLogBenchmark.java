@@ -0,0 +1,66 @@
+package project.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import project.crewman.Crewman;
+import project.event.Event;
+import project.io.EventLog;
+import project.sector.Sector;
+import project.util.Registry;
+import project.warships.Warship;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * load throughput of a compiled EventLog: entities from the snapshot plus the decoded event records,
+ * compare with InputReaderBenchmark on the same fixture
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventLogBenchmark {
+    @Param({"small1", "medium1", "no_event1", "large1", "large2", "gen1m"})
+    public String fixture;
+
+    private File log;
+
+    @Setup
+    public void setup() throws IOException {
+        log = File.createTempFile(fixture, ".evl");
+        EventLog.compile(Fixtures.path(fixture), log.getPath());
+    }
+
+    @TearDown
+    public void tearDown() {
+        log.delete();
+    }
+
+    @Benchmark
+    public int load() throws IOException {
+        try (EventLog eventLog = EventLog.open(log.getPath(), new Registry<Sector>(), new Registry<Warship>(), new Registry<Crewman>())) {
+            Iterable<Event> events = eventLog.events();
+            int count = 0;
+            if (events != null) {
+                for (Event event : events) {
+                    count += event.parameterCount;
+                }
+            }
+            return count;
+        }
+    }
+}
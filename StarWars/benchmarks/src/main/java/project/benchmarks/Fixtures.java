@@ -0,0 +1,96 @@
+package project.benchmarks;
+
+import project.crewman.Crewman;
+import project.event.Event;
+import project.io.InputReader;
+import project.io.ScenarioGenerator;
+import project.sector.Sector;
+import project.util.Registry;
+import project.warships.Warship;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+
+/**
+ * loads scenario files used as benchmark fixtures
+ * bundled scenarios are looked up in the directory given by the starwars.tests property (default ../tests)
+ * fixtures named gen&lt;events&gt; (e.g. gen100k, gen1m) are generated with ScenarioGenerator on first use
+ */
+final class Fixtures {
+    static final String TESTS_DIR = System.getProperty("starwars.tests", "../tests");
+
+    private Fixtures() {
+    }
+
+    /**
+     * @param name name of a bundled scenario, e.g. large1, or of a generated one, e.g. gen1m
+     * @return path of the input file of the scenario
+     */
+    static String path(String name) {
+        if (name.startsWith("gen")) return generated(name);
+        File file = new File(TESTS_DIR, name + ".in");
+        if (!file.isFile()) throw new IllegalStateException("missing fixture " + file.getAbsolutePath());
+        return file.getPath();
+    }
+
+    /**
+     * generates the scenario once per JVM, entity counts grow with the event count
+     * @param name gen followed by the number of events, with an optional k or m suffix
+     * @return path of the generated input file
+     */
+    private static synchronized String generated(String name) {
+        String scale = name.substring(3).toLowerCase();
+        long events;
+        if (scale.endsWith("m")) events = Long.parseLong(scale.substring(0, scale.length() - 1)) * 1_000_000;
+        else if (scale.endsWith("k")) events = Long.parseLong(scale.substring(0, scale.length() - 1)) * 1_000;
+        else events = Long.parseLong(scale);
+        File file = new File(System.getProperty("java.io.tmpdir"), "starwars-" + name + ".in");
+        if (file.isFile()) return file.getPath();
+        int ships = (int) Math.max(10, events / 100);
+        try {
+            new ScenarioGenerator()
+                    .seed(42)
+                    .sectors(Math.max(3, ships / 200))
+                    .cruisers(ships / 2)
+                    .destroyers(ships / 4)
+                    .frigates(ships / 8)
+                    .battleships(ships / 8)
+                    .jedi(ships)
+                    .sith(ships)
+                    .officers(ships * 3)
+                    .crewSize(6)
+                    .coordinates(ships * 10)
+                    .events(events)
+                    .write(file.getPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return file.getPath();
+    }
+
+    /**
+     * entities and events of a scenario, with the events fully materialized so that they can be replayed
+     */
+    static final class World {
+        final Registry<Sector> sectors = new Registry<>();
+        final Registry<Warship> warships = new Registry<>();
+        final Registry<Crewman> crewMen = new Registry<>();
+        ArrayList<Event> events;
+    }
+
+    /**
+     * @param path input file of the scenario
+     * @return the freshly parsed world
+     */
+    static World load(String path) {
+        World world = new World();
+        try (InputReader reader = new InputReader(path, world.sectors, world.warships, world.crewMen)) {
+            reader.extractEntities();
+            world.events = reader.extractEvents();
+        }
+        if (world.events == null) world.events = new ArrayList<>();
+        return world;
+    }
+}
@@ -0,0 +1,60 @@
+package project.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import project.crewman.Crewman;
+import project.event.Event;
+import project.io.InputReader;
+import project.sector.Sector;
+import project.util.Registry;
+import project.warships.Warship;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * parse throughput of InputReader: entities plus the streamed event section
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InputReaderBenchmark {
+    @Param({"small1", "medium1", "no_event1", "large1", "large2", "gen1m"})
+    public String fixture;
+
+    @Param({"false", "true"})
+    public boolean memoryMapped;
+
+    private String path;
+
+    @Setup
+    public void setup() {
+        path = Fixtures.path(fixture);
+    }
+
+    @Benchmark
+    public int parse() {
+        try (InputReader reader = new InputReader(path, memoryMapped, new Registry<Sector>(), new Registry<Warship>(), new Registry<Crewman>())) {
+            reader.extractEntities();
+            Iterable<Event> events = reader.streamEvents();
+            int count = 0;
+            if (events != null) {
+                for (Event event : events) {
+                    count += event.parameterCount;
+                }
+            }
+            return count;
+        }
+    }
+}
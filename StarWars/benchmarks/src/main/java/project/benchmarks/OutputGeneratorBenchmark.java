@@ -0,0 +1,55 @@
+package project.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import project.event.EventHandler;
+import project.io.OutputGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OutputGenerator.generateOutput() on the final state of a bundled scenario
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OutputGeneratorBenchmark {
+    @Param({"medium1", "no_event1", "large1", "large2", "gen100k"})
+    public String fixture;
+
+    private Fixtures.World world;
+    private File output;
+
+    @Setup
+    public void setup() throws IOException {
+        world = Fixtures.load(Fixtures.path(fixture));
+        new EventHandler(world.sectors, world.warships, world.crewMen, world.events).handleEvents();
+        output = File.createTempFile("starwars", ".out");
+    }
+
+    @TearDown
+    public void tearDown() {
+        output.delete();
+    }
+
+    @Benchmark
+    public File generateOutput() {
+        new OutputGenerator(output.getPath(), world.crewMen.values(), world.warships.values()).generateOutput();
+        return output;
+    }
+}
@@ -0,0 +1,57 @@
+package project.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import project.warships.Warship;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warship.getPowerOutput() on its own and through Warship.compareTo, as used by OutputGenerator
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PowerOutputBenchmark {
+    @Param({"medium1", "large1", "large2", "gen100k"})
+    public String fixture;
+
+    private ArrayList<Warship> warships;
+
+    @Setup
+    public void setup() {
+        warships = Fixtures.load(Fixtures.path(fixture)).warships.values();
+    }
+
+    @Benchmark
+    public long powerOutput() {
+        long sum = 0;
+        for (Warship warship : warships) {
+            sum += warship.getPowerOutput();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public ArrayList<Warship> sortByPower() {
+        ArrayList<Warship> sorted = new ArrayList<>(warships);
+        Collections.shuffle(sorted, new Random(42));
+        Collections.sort(sorted);
+        return sorted;
+    }
+}
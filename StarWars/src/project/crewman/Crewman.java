@@ -8,6 +8,7 @@ public abstract class Crewman {
 	protected final int id;
 	protected final String name;
 	private Warship currentWarship;
+	private Warship crewWarship; // warship whose crew lists this crewman, kept even when currentWarship is cleared
 	private Crewman killedBy;
 	protected CrewmanState state;
 
@@ -72,6 +73,39 @@ public abstract class Crewman {
 	}
 
 
+	/**
+	 *
+	 * @return the warship whose crew this crewman is a member of, null if none
+	 */
+	public Warship getCrewWarship() {
+		return crewWarship;
+	}
+
+	/**
+	 * only to be called by Warship, which keeps it in sync with its crew
+	 * @param warship the warship whose crew this crewman is a member of, null if none
+	 */
+	public void setCrewWarship(Warship warship) {
+		this.crewWarship = warship;
+	}
+
+	/**
+	 * notifies the warship whose crew this crewman is in that it is about to change,
+	 * so that it can keep its cached power output up to date
+	 * the crew warship is used rather than currentWarship: a crewman can stay in a crew after its
+	 * currentWarship was cleared (e.g. a released captive imprisoned later by its former captor)
+	 */
+	protected void beforeUpdate() {
+		if (crewWarship != null) crewWarship.beforeCrewmanUpdate(this);
+	}
+
+	/**
+	 * notifies the warship whose crew this crewman is in that it has changed
+	 */
+	protected void afterUpdate() {
+		if (crewWarship != null) crewWarship.afterCrewmanUpdate(this);
+	}
+
 	/**
 	 *
 	 * @param id id of the crewman
@@ -65,7 +65,9 @@ public abstract class General extends Crewman implements IForceUser, Comparable<
 		}else if (victim instanceof Officer) {
 			xp = ((Officer) victim).getIntrinsicLevel();
 		}
+		beforeUpdate();
 		this.experience += xp;
+		afterUpdate();
 		victim.setKilledBy(this);
 	}
 
@@ -67,7 +67,9 @@ public class Jedi extends General {
 	 * resets the sanity of the Jedi back to 100, called on visit to Corousant
 	 */
 	public void resetSanity() {
+		beforeUpdate();
 		sanity = 100;
+		afterUpdate();
 	}
 
 	/**
@@ -75,10 +77,11 @@ public class Jedi extends General {
 	 * @param i the amount of sanity to decrease
 	 */
 	public void reduceSanity(int i) {
-
+		beforeUpdate();
 		sanity -= i;
 		if (sanity <=0 ){
 			sanity = 0;
 		}
+		afterUpdate();
 	}
 }
@@ -30,7 +30,9 @@ public class Officer extends Crewman implements Comparable<Officer> {
 	 */
 	 public void train() {
 		 if(intrinsicLevel < 10) {
+			 beforeUpdate();
 			 intrinsicLevel++;
+			 afterUpdate();
 		 }
 	 }
 
@@ -6,6 +6,12 @@ import project.enums.Affiliation;
 public class Sith extends General {
 	private final int persuasion;
 
+	/**
+	 *
+	 * @return the persuasion of the Sith
+	 */
+	public int getPersuasion() {return persuasion;}
+
 	/**
 	 *
 	 * @param id the id of the Sith
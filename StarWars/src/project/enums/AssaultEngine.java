@@ -0,0 +1,11 @@
+package project.enums;
+
+
+/**
+ * algorithm used by Sector.assault to find the targets of the Republic cruisers
+ */
+public enum AssaultEngine {
+    SEGMENT_TREE, // AssaultHandler, O(n*log n)
+    UNION_FIND, // AssaultUnionFind, near-linear after sorting
+    CROSS_CHECK // runs both and fails if they disagree, executes the segment tree's result
+}
@@ -2,23 +2,58 @@ package project.event;
 
 import project.enums.EventType;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 
 public class Event {
+    public static final int MAX_PARAMETERS = 3;
     public EventType type;
-    public ArrayList<Integer> parameters;
+    public final int[] parameters;
+    public int parameterCount;
+
+    /**
+     * Constructor for an empty Event, to be filled with set (see InputReader.streamEvents)
+     */
+    public Event() {
+        this.parameters = new int[MAX_PARAMETERS];
+    }
+
     /**
      * Constructor for Event
      * @param type EventType of the event
-     * @param parameters ArrayList<Integer> parameters of the event
+     * @param parameters parameters of the event, at most MAX_PARAMETERS
      */
-    public Event(EventType type, Integer... parameters) {
+    public Event(EventType type, int... parameters) {
+        this();
         this.type = type;
-        this.parameters = new ArrayList<>();
-        for (Integer parameter : parameters) {
-            this.parameters.add(parameter);
-        }
+        this.parameterCount = parameters.length;
+        System.arraycopy(parameters, 0, this.parameters, 0, parameters.length);
+    }
+
+    /**
+     * overwrites this event, allows a single Event to be reused for every parsed event
+     * @param type EventType of the event
+     * @param parameterCount number of meaningful parameters
+     * @param p0 first parameter
+     * @param p1 second parameter
+     * @param p2 third parameter
+     * @return this event
+     */
+    public Event set(EventType type, int parameterCount, int p0, int p1, int p2) {
+        this.type = type;
+        this.parameterCount = parameterCount;
+        parameters[0] = p0;
+        parameters[1] = p1;
+        parameters[2] = p2;
+        return this;
+    }
+
+    /**
+     * @param i index of the parameter
+     * @return i-th parameter of the event
+     */
+    public int get(int i) {
+        return parameters[i];
     }
 
     /**
@@ -28,7 +63,7 @@ public class Event {
     public String toString() {
         return "Event{" +
                 "type=" + type +
-                ", parameters=" + parameters +
+                ", parameters=" + Arrays.toString(Arrays.copyOf(parameters, parameterCount)) +
                 '}';
     }
 }
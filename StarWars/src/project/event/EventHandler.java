@@ -4,27 +4,38 @@ import project.crewman.Crewman;
 import project.crewman.concrete.Officer;
 import project.enums.CrewmanState;
 import project.enums.WarshipState;
+import project.io.Checkpoint;
 import project.sector.Sector;
+import project.util.Registry;
 import project.warships.Warship;
 import project.warships.concrete.RepublicCruiser;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
 
 public class EventHandler {
-    HashMap<Integer, Sector> sectors;
-    HashMap<Integer, Warship> warships;
-    HashMap<Integer, Crewman> crewMen;
-    ArrayList<Event> events;
+    Registry<Sector> sectors;
+    Registry<Warship> warships;
+    Registry<Crewman> crewMen;
+    Iterable<Event> events;
+    private EventScheduler scheduler; // null in sequential mode
+    private long cursor; // number of events of the input handled so far
+    private String checkpointFile; // null if checkpoints are disabled
+    private Checkpoint.InputFingerprint checkpointInput;
+    private long checkpointEvents;
+    private long checkpointNanos;
+    private long lastCheckpointCursor;
+    private long lastCheckpointTime;
+    private EventMetrics metrics; // null if metrics are disabled
 
     /**
      * creates an EventHandler object and initializes it with the relevant entities and events
-     * @param sectors HashMap containing all sectors
-     * @param warships HashMap containing all warships
-     * @param crewMen HashMap containing all crewmen
-     * @param events ArrayList containing all events
+     * @param sectors Registry containing all sectors
+     * @param warships Registry containing all warships
+     * @param crewMen Registry containing all crewmen
+     * @param events events in the order they happen, either a list or a stream parsed on demand (see InputReader.streamEvents)
      */
-    public EventHandler(HashMap<Integer, Sector> sectors, HashMap<Integer, Warship> warships, HashMap<Integer, Crewman> crewMen, ArrayList<Event> events) {
+    public EventHandler(Registry<Sector> sectors, Registry<Warship> warships, Registry<Crewman> crewMen, Iterable<Event> events) {
         this.sectors = sectors;
         this.warships = warships;
         this.crewMen = crewMen;
@@ -33,64 +44,155 @@ public class EventHandler {
 
     /**
      * parses the events and calls the relevant handler
+     * in parallel mode, events are scheduled by the sectors, warships and crewmen they touch,
+     * independent events are executed concurrently, the end result is the same as in sequential mode (see EventScheduler)
+     * events already handled before a restored checkpoint are skipped (see resumeFrom), checkpoints are written as configured
      */
     public void handleEvents() {
 
+        lastCheckpointCursor = cursor;
+        lastCheckpointTime = System.nanoTime();
+        long skip = cursor;
         for (Event event : events){
-            try{
-            switch (event.type){
-                case ATTACK -> {
-                    int attackerId = event.parameters.get(0);
-                    int defenderId = event.parameters.get(1);
-                    handleAttack(attackerId,defenderId);
-                }
-                case ASSAULT -> {
-                    int sectorId = event.parameters.get(0);
-                    handleAssault(sectorId);
-                }
-                case JUMP_TO_SECTOR -> {
-                    int warshipId = event.parameters.get(0);
-                    int sectorId = event.parameters.get(1);
-                    int coordinate = event.parameters.get(2);
-                    handleJumpToSector(warshipId,sectorId,coordinate);
-                }
-                case VISIT_COROUSANT -> {
-                    int cruiserId = event.parameters.get(0);
-                    handleVisitCorousant(cruiserId);
-                }
-                case ADD_CREWMAN -> {
-                    int crewmanId = event.parameters.get(0);
-                    int warshipId = event.parameters.get(1);
-                    handleAddCrewman(crewmanId,warshipId);
-                }
-                case REMOVE_CREWMAN -> {
-                    int crewmanId = event.parameters.get(0);
-                    int warshipId = event.parameters.get(1);
-                    handleRemoveCrewman(warshipId,crewmanId);
-                }
-                case TRAIN_OFFICER -> {
-                    int officerId = event.parameters.get(0);
-                    handleTrainOfficer(officerId);
-                }
-                case UPGRADE_SHIELD -> {
-                    int warshipId = event.parameters.get(0);
-                    int amount = event.parameters.get(1);
-                    handleUpgradeShield(warshipId,amount);
-                }
-                case UPGRADE_ARMAMENT -> {
-                    int warshipId = event.parameters.get(0);
-                    int amount = event.parameters.get(1);
-                    handleUpgradeArmament(warshipId,amount);
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            if (scheduler == null) {
+                handleEvent(event);
+            } else {
+                scheduler.schedule(event);
+            }
+            cursor++;
+            if (checkpointFile != null && isCheckpointDue()) checkpoint();
+        }
+        if (scheduler != null) scheduler.flush();
+    }
 
-                }
+    /**
+     * writes a checkpoint every given number of events or time, whichever comes first (see Checkpoint)
+     * @param fileName checkpoint file, replaced atomically by every checkpoint
+     * @param input fingerprint of the input-file the events come from, saved with every checkpoint
+     * @param everyEvents number of events between checkpoints, 0 to disable
+     * @param everySeconds seconds between checkpoints, 0 to disable
+     */
+    public void setCheckpoints(String fileName, Checkpoint.InputFingerprint input, long everyEvents, long everySeconds) {
+        this.checkpointFile = fileName;
+        this.checkpointInput = input;
+        this.checkpointEvents = everyEvents;
+        this.checkpointNanos = everySeconds * 1_000_000_000L;
+    }
+
+    /**
+     * @param metrics metrics every handled event is recorded into, null to disable them
+     */
+    public void setMetrics(EventMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * continues a run restored from a checkpoint: the first cursor events are already reflected
+     * in the restored entities, so they are skipped
+     * @param cursor number of events handled before the checkpoint
+     */
+    public void resumeFrom(long cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * the clock is only read every 1024 events to keep it off the per-event path
+     * @return true if the next checkpoint is due
+     */
+    private boolean isCheckpointDue() {
+        if (checkpointEvents > 0 && cursor - lastCheckpointCursor >= checkpointEvents) return true;
+        return checkpointNanos > 0 && (cursor & 1023) == 0 && System.nanoTime() - lastCheckpointTime >= checkpointNanos;
+    }
 
+    /**
+     * saves the world and the cursor, pending events of the parallel scheduler are executed first
+     * a failed checkpoint is reported and the run goes on
+     */
+    private void checkpoint() {
+        if (scheduler != null) scheduler.flush();
+        try {
+            Checkpoint.save(checkpointFile, checkpointInput, cursor, sectors, warships, crewMen);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        lastCheckpointCursor = cursor;
+        lastCheckpointTime = System.nanoTime();
+    }
+
+    /**
+     * must be called after all entities are registered
+     * @param parallel if true, independent events are executed concurrently on the common ForkJoinPool
+     */
+    public void setParallel(boolean parallel) {
+        this.scheduler = parallel ? new EventScheduler(this, sectors, warships, crewMen, ForkJoinPool.commonPool()) : null;
+    }
+
+    /**
+     * calls the relevant handler of the event, and records it if metrics are enabled
+     * @param event event to be handled
+     */
+    void handleEvent(Event event) {
+        long start = metrics == null ? 0 : System.nanoTime();
+        boolean applied = false;
+        boolean failed = false;
+        try{
+        applied = switch (event.type){
+            case ATTACK -> {
+                int attackerId = event.get(0);
+                int defenderId = event.get(1);
+                yield handleAttack(attackerId,defenderId);
+            }
+            case ASSAULT -> {
+                int sectorId = event.get(0);
+                yield handleAssault(sectorId);
+            }
+            case JUMP_TO_SECTOR -> {
+                int warshipId = event.get(0);
+                int sectorId = event.get(1);
+                int coordinate = event.get(2);
+                yield handleJumpToSector(warshipId,sectorId,coordinate);
+            }
+            case VISIT_COROUSANT -> {
+                int cruiserId = event.get(0);
+                yield handleVisitCorousant(cruiserId);
+            }
+            case ADD_CREWMAN -> {
+                int crewmanId = event.get(0);
+                int warshipId = event.get(1);
+                yield handleAddCrewman(crewmanId,warshipId);
+            }
+            case REMOVE_CREWMAN -> {
+                int crewmanId = event.get(0);
+                int warshipId = event.get(1);
+                yield handleRemoveCrewman(warshipId,crewmanId);
             }
-            }catch (Exception e){
-                e.printStackTrace();
-                System.out.println(event);
+            case TRAIN_OFFICER -> {
+                int officerId = event.get(0);
+                yield handleTrainOfficer(officerId);
+            }
+            case UPGRADE_SHIELD -> {
+                int warshipId = event.get(0);
+                int amount = event.get(1);
+                yield handleUpgradeShield(warshipId,amount);
+            }
+            case UPGRADE_ARMAMENT -> {
+                int warshipId = event.get(0);
+                int amount = event.get(1);
+                yield handleUpgradeArmament(warshipId,amount);
+
             }
 
+        };
+        }catch (Exception e){
+            failed = true;
+            e.printStackTrace();
+            System.out.println(event);
         }
+        if (metrics != null) metrics.record(event.type, applied, failed, System.nanoTime() - start);
     }
 
     /**
@@ -98,16 +200,18 @@ public class EventHandler {
      * if warship does not exist, or it is destroyed, nothing happens
      * @param warshipId warship id
      * @param amount amount of armament to upgrade
+     * @return false if the event was filtered out
      */
-    private void handleUpgradeArmament(int warshipId,int amount) {
+    private boolean handleUpgradeArmament(int warshipId,int amount) {
         var warship = warships.get(warshipId);
         if (warship == null)
-        	return;
+        	return false;
         if (warships.get(warshipId).getState() != WarshipState.DESTROYED)
             if (warship != null) {
                 warship.upgradeArmament(amount);
+                return true;
             }
-
+        return false;
     }
 
     /**
@@ -115,48 +219,56 @@ public class EventHandler {
      * if warship does not exist, or it is destroyed, nothing happens
      * @param warshipId warship id
      * @param amount amount of shield to upgrade
+     * @return false if the event was filtered out
      */
-    private void handleUpgradeShield(int warshipId, int amount) {
+    private boolean handleUpgradeShield(int warshipId, int amount) {
         var warship = warships.get(warshipId);
         if (warship == null)
-        	return;
+        	return false;
         if (warships.get(warshipId).getState() != WarshipState.DESTROYED)
             if (warship != null) {
                 warship.upgradeShield(amount);
+                return true;
             }
+        return false;
     }
 
     /**
      * handles train officer event
      * if officer does not exist, or is dead, nothing happens
      * @param officerId officer id
+     * @return false if the event was filtered out
      */
-    private void handleTrainOfficer(int officerId) {
+    private boolean handleTrainOfficer(int officerId) {
         var crewman = crewMen.get(officerId);
         if (crewman == null)
-            return;
+            return false;
         if (crewman.getState() != CrewmanState.DEAD )
             if (crewman instanceof Officer officer) {
                 officer.train();
+                return true;
             }
+        return false;
     }
     /**
      * handles remove crewman event
      * if warship does not exist, or it is destroyed, or crewman does not exist, nothing happens
      * @param warshipId warship id
      * @param crewmanId crewman id
+     * @return false if the event was filtered out
      */
-    private void handleRemoveCrewman(int warshipId, int crewmanId) {
+    private boolean handleRemoveCrewman(int warshipId, int crewmanId) {
         var warship = warships.get(warshipId);
         var crewman = crewMen.get(crewmanId);
         if (warship == null || crewman == null) 
-        	return;
+        	return false;
         if (warship != null && crewman != null) {
             if (warships.get(warshipId).getState() != WarshipState.DESTROYED) {
                 warship.removeCrewman(crewman);
+                return true;
             }
         }
-
+        return false;
     }
 
     /**
@@ -165,16 +277,18 @@ public class EventHandler {
      * or crewman does not exist, or crewman is not free, nothing happens
      * @param crewmanId crewman id
      * @param warshipId warship id
+     * @return false if the event was filtered out
      */
-    private void handleAddCrewman(int crewmanId, int warshipId) {
+    private boolean handleAddCrewman(int crewmanId, int warshipId) {
         var warship = warships.get(warshipId);
         var crewman = crewMen.get(crewmanId);
         if (warship == null || crewman == null) 
-        	return;
+        	return false;
         if (warship.getState() != WarshipState.DESTROYED && crewman.getState() == CrewmanState.FREE){
             warship.addCrewman(crewman);
+            return true;
         }
-
+        return false;
     }
 
     /**
@@ -184,15 +298,18 @@ public class EventHandler {
      * @param warshipId warship id
      * @param sectorId sector id
      * @param coordinate coordinate
+     * @return false if the event was filtered out
      */
-    private void handleJumpToSector(int warshipId, int sectorId, int coordinate) {
+    private boolean handleJumpToSector(int warshipId, int sectorId, int coordinate) {
         var warship = warships.get(warshipId);
         var sector = sectors.get(sectorId);
         if (warship != null && sector != null) {
             if (warship.getState() != WarshipState.DESTROYED) {
                 warship.jumpToSector(sector, coordinate);
+                return true;
             }
         }
+        return false;
     }
 
     /**
@@ -200,28 +317,34 @@ public class EventHandler {
      * if warship does not exist, or it is destroyed,
      * or warship is not a Republic cruiser, nothing happens
      * @param cruiserId cruiser id
+     * @return false if the event was filtered out
      */
-    private void handleVisitCorousant(int cruiserId) {
+    private boolean handleVisitCorousant(int cruiserId) {
         var warship = warships.get(cruiserId);
         if (warship != null) {
             if (warship.getState() != WarshipState.DESTROYED) {
                 if (warship instanceof RepublicCruiser cruiser) {
                     cruiser.visitCorousant();
+                    return true;
                 }
             }
         }
+        return false;
     }
 
     /**
      * handles assault event in given sector
      * if sector does not exist, nothing happens
      * @param sectorId sector id
+     * @return false if the event was filtered out
      */
-    private void handleAssault(int sectorId) {
+    private boolean handleAssault(int sectorId) {
         var sector = sectors.get(sectorId);
         if (sector != null) {
             sector.assault();
+            return true;
         }
+        return false;
     }
 
     /**
@@ -231,8 +354,9 @@ public class EventHandler {
      * or if warships have same affiliation, nothing happens
      * @param attackerId attacker id
      * @param defenderId defender id
+     * @return false if the event was filtered out
      */
-    private void handleAttack(int attackerId, int defenderId) {
+    private boolean handleAttack(int attackerId, int defenderId) {
         Warship attacker = warships.get(attackerId);
         Warship defender = warships.get(defenderId);
         if (attacker != null && defender != null) {
@@ -240,9 +364,11 @@ public class EventHandler {
                 if (defender.getState() != WarshipState.DESTROYED) {
                     if (attacker.getAffiliation() != defender.getAffiliation()) {
                         attacker.attack(defender);
+                        return true;
                     }
                 }
             }
         }
+        return false;
     }
 }
@@ -0,0 +1,149 @@
+package project.event;
+
+import project.enums.EventType;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per event type counters and latency histograms of an event run
+ *
+ * per type it counts handled events, no-ops (events filtered out by the null, DESTROYED, state or affiliation checks
+ * of the handlers) and errors (events whose handler threw), and sums the handling time
+ * latencies go into power of two buckets: bucket b holds the times in [2^(b-1), 2^b) nanoseconds,
+ * so percentiles are reported as the upper bound of their bucket
+ * all counters are atomic, events handled concurrently (see EventScheduler) can be recorded from any thread
+ */
+public class EventMetrics {
+    private static final EventType[] TYPES = EventType.values();
+    private static final int BUCKETS = 64;
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99};
+
+    private final AtomicLongArray counts = new AtomicLongArray(TYPES.length);
+    private final AtomicLongArray noOps = new AtomicLongArray(TYPES.length);
+    private final AtomicLongArray errors = new AtomicLongArray(TYPES.length);
+    private final AtomicLongArray totalNanos = new AtomicLongArray(TYPES.length);
+    private final AtomicLongArray histograms = new AtomicLongArray(TYPES.length * BUCKETS);
+
+    /**
+     * complexity: O(1)
+     * @param type type of the handled event
+     * @param applied false if the handler filtered the event out
+     * @param failed true if the handler threw
+     * @param nanos time spent handling the event
+     */
+    public void record(EventType type, boolean applied, boolean failed, long nanos) {
+        int t = type.ordinal();
+        counts.incrementAndGet(t);
+        if (failed) errors.incrementAndGet(t);
+        else if (!applied) noOps.incrementAndGet(t);
+        totalNanos.addAndGet(t, nanos);
+        int bucket = Math.min(BUCKETS - 1, BUCKETS - Long.numberOfLeadingZeros(Math.max(nanos, 0)));
+        histograms.incrementAndGet(t * BUCKETS + bucket);
+    }
+
+    /**
+     * @return number of handled events of the type
+     */
+    public long getCount(EventType type) {
+        return counts.get(type.ordinal());
+    }
+
+    /**
+     * @return number of events of the type filtered out by the handler
+     */
+    public long getNoOps(EventType type) {
+        return noOps.get(type.ordinal());
+    }
+
+    /**
+     * @return number of events of the type whose handler threw
+     */
+    public long getErrors(EventType type) {
+        return errors.get(type.ordinal());
+    }
+
+    /**
+     * @return total time spent handling events of the type in nanoseconds
+     */
+    public long getTotalNanos(EventType type) {
+        return totalNanos.get(type.ordinal());
+    }
+
+    /**
+     * complexity: O(BUCKETS)
+     * @param type event type
+     * @param percentile percentile in (0, 1]
+     * @return upper bound of the bucket holding the percentile of the latencies of the type in nanoseconds, 0 if there are none
+     */
+    public long getPercentileNanos(EventType type, double percentile) {
+        long count = getCount(type);
+        if (count == 0) return 0;
+        long rank = (long) Math.ceil(percentile * count);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += histograms.get(type.ordinal() * BUCKETS + b);
+            if (seen >= rank) return b == BUCKETS - 1 ? Long.MAX_VALUE : 1L << b;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * @return a table with one row per event type that was handled at least once
+     */
+    public String summary() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.ROOT, "%-16s %12s %12s %8s %12s %10s %10s %10s%n",
+                "event", "count", "no-op", "errors", "mean(ns)", "p50(ns)", "p90(ns)", "p99(ns)"));
+        for (EventType type : TYPES) {
+            long count = getCount(type);
+            if (count == 0) continue;
+            builder.append(String.format(Locale.ROOT, "%-16s %12d %12d %8d %12d", type, count, getNoOps(type),
+                    getErrors(type), getTotalNanos(type) / count));
+            for (double percentile : PERCENTILES)
+                builder.append(String.format(Locale.ROOT, " %10d", getPercentileNanos(type, percentile)));
+            builder.append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * writes the metrics as a JSON object keyed by event type name, every type is included
+     * histogram[b] counts the events handled in [2^(b-1), 2^b) nanoseconds, trailing empty buckets are left out
+     * @param out writer to be written, it is left open
+     * @throws IOException if the writer fails
+     */
+    public void writeJson(Writer out) throws IOException {
+        out.write("{\n");
+        for (int t = 0; t < TYPES.length; t++) {
+            EventType type = TYPES[t];
+            out.write(String.format(Locale.ROOT, "  \"%s\": {\"count\": %d, \"noOps\": %d, \"errors\": %d, \"totalNanos\": %d",
+                    type, getCount(type), getNoOps(type), getErrors(type), getTotalNanos(type)));
+            out.write(String.format(Locale.ROOT, ", \"p50Nanos\": %d, \"p90Nanos\": %d, \"p99Nanos\": %d",
+                    getPercentileNanos(type, 0.5), getPercentileNanos(type, 0.9), getPercentileNanos(type, 0.99)));
+            int last = BUCKETS - 1;
+            while (last >= 0 && histograms.get(t * BUCKETS + last) == 0) last--;
+            out.write(", \"histogram\": [");
+            for (int b = 0; b <= last; b++) {
+                if (b > 0) out.write(", ");
+                out.write(Long.toString(histograms.get(t * BUCKETS + b)));
+            }
+            out.write(t == TYPES.length - 1 ? "]}\n" : "]},\n");
+        }
+        out.write("}\n");
+    }
+
+    /**
+     * writes the metrics as JSON to the file (see writeJson)
+     * @param fileName file to be written
+     * @throws IOException if the file cannot be written
+     */
+    public void writeJson(String fileName) throws IOException {
+        try (Writer out = new FileWriter(fileName)) {
+            writeJson(out);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package project.event;
+
+import project.crewman.Crewman;
+import project.enums.EventType;
+import project.sector.Sector;
+import project.util.Registry;
+import project.warships.Warship;
+import project.warships.concrete.RepublicCruiser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Executes events concurrently while keeping the result identical to the serial order
+ *
+ * every event gets a footprint: the sectors, warships and crewmen it may read or change
+ *  - a warship stands for its own state, its crew and its captives
+ *  - a sector stands for the set of warships in it
+ *  - a crewman stands for the crewman itself, events reaching it directly also take its current warship
+ * events are collected into a window, two events sharing a resource are ordered by a dependency edge,
+ * which forms a DAG; the window is executed level by level, events of the same level are independent
+ * and run concurrently
+ *
+ * footprints are computed from the current state, before the pending events of the window have run,
+ * so an event whose footprint depends on a relation that a pending event may change
+ * (the sector of a warship, the warships of a sector, the warship of a crewman, the captives of a cruiser)
+ * first executes the window, then its footprint is computed again
+ */
+class EventScheduler {
+    private static final int WINDOW_SIZE = 4096;
+    private final EventHandler handler;
+    private final Registry<Sector> sectors;
+    private final Registry<Warship> warships;
+    private final Registry<Crewman> crewMen;
+    private final ForkJoinPool pool;
+
+    private final ArrayList<Event> window = new ArrayList<>(); // reused Event copies, the first size are pending
+    private final int[] levels = new int[WINDOW_SIZE];
+    private int size;
+    private int maxLevel;
+
+    // entries are only valid if their stamp equals the stamp of the current window
+    private int stamp = 1;
+    private final int[] sectorStamp, sectorLevel, warshipStamp, warshipLevel, crewmanStamp, crewmanLevel;
+    // relations that pending events may change, marked with the stamp of the window
+    private final int[] movedWarship, changedSector, changedCrew, freedCaptive, movedCrewman;
+
+    // footprint of the event being scheduled
+    private int[] footprintSectors = new int[16], footprintWarships = new int[64], footprintCrewmen = new int[16];
+    private int sectorCount, warshipCount, crewmanCount;
+
+    /**
+     * @param handler handler executing the events
+     * @param sectors Registry containing all sectors
+     * @param warships Registry containing all warships
+     * @param crewMen Registry containing all crewmen
+     * @param pool pool running independent events
+     */
+    EventScheduler(EventHandler handler, Registry<Sector> sectors, Registry<Warship> warships, Registry<Crewman> crewMen, ForkJoinPool pool) {
+        this.handler = handler;
+        this.sectors = sectors;
+        this.warships = warships;
+        this.crewMen = crewMen;
+        this.pool = pool;
+        int s = sectors.maxId() + 1, w = warships.maxId() + 1, c = crewMen.maxId() + 1;
+        sectorStamp = new int[s];
+        sectorLevel = new int[s];
+        changedSector = new int[s];
+        warshipStamp = new int[w];
+        warshipLevel = new int[w];
+        movedWarship = new int[w];
+        changedCrew = new int[w];
+        freedCaptive = new int[w];
+        crewmanStamp = new int[c];
+        crewmanLevel = new int[c];
+        movedCrewman = new int[c];
+    }
+
+    /**
+     * adds a copy of the event to the window, executing the window first if needed
+     * @param event next event in serial order
+     */
+    void schedule(Event event) {
+        if (!computeFootprint(event)) {
+            flush();
+            computeFootprint(event);
+        }
+        int level = 0;
+        for (int i = 0; i < sectorCount; i++) level = Math.max(level, levelOf(sectorStamp, sectorLevel, footprintSectors[i]));
+        for (int i = 0; i < warshipCount; i++) level = Math.max(level, levelOf(warshipStamp, warshipLevel, footprintWarships[i]));
+        for (int i = 0; i < crewmanCount; i++) level = Math.max(level, levelOf(crewmanStamp, crewmanLevel, footprintCrewmen[i]));
+        level++;
+        for (int i = 0; i < sectorCount; i++) setLevel(sectorStamp, sectorLevel, footprintSectors[i], level);
+        for (int i = 0; i < warshipCount; i++) setLevel(warshipStamp, warshipLevel, footprintWarships[i], level);
+        for (int i = 0; i < crewmanCount; i++) setLevel(crewmanStamp, crewmanLevel, footprintCrewmen[i], level);
+        markChanges(event);
+
+        if (size == window.size()) window.add(new Event());
+        window.get(size).set(event.type, event.parameterCount, event.get(0), event.get(1), event.get(2));
+        levels[size++] = level;
+        maxLevel = Math.max(maxLevel, level);
+        if (size == WINDOW_SIZE) flush();
+    }
+
+    /**
+     * executes the pending events level by level
+     */
+    void flush() {
+        if (size == 0) return;
+        // counting sort of the events by level, keeping the serial order inside a level
+        int[] start = new int[maxLevel + 2];
+        for (int i = 0; i < size; i++) start[levels[i] + 1]++;
+        for (int l = 1; l <= maxLevel + 1; l++) start[l] += start[l - 1];
+        Event[] ordered = new Event[size];
+        int[] next = Arrays.copyOf(start, start.length);
+        for (int i = 0; i < size; i++) ordered[next[levels[i]]++] = window.get(i);
+        for (int l = 1; l <= maxLevel; l++) {
+            int from = start[l], to = start[l + 1];
+            if (to - from == 1) {
+                handler.handleEvent(ordered[from]);
+            } else if (to - from > 1) {
+                List<Event> independent = Arrays.asList(ordered).subList(from, to);
+                pool.submit(() -> independent.parallelStream().forEach(handler::handleEvent)).join();
+            }
+        }
+        size = 0;
+        maxLevel = 0;
+        stamp++;
+    }
+
+    private int levelOf(int[] stamps, int[] levels, int id) {
+        return stamps[id] == stamp ? levels[id] : 0;
+    }
+
+    private void setLevel(int[] stamps, int[] levels, int id, int level) {
+        stamps[id] = stamp;
+        levels[id] = level;
+    }
+
+    private boolean changed(int[] marks, int id) {
+        return marks[id] == stamp;
+    }
+
+    /**
+     * fills the footprint of the event
+     * @param event event to be scheduled
+     * @return false if the footprint depends on a relation that a pending event may change
+     */
+    private boolean computeFootprint(Event event) {
+        sectorCount = warshipCount = crewmanCount = 0;
+        switch (event.type) {
+            case ATTACK -> {
+                Warship attacker = warships.get(event.get(0)), defender = warships.get(event.get(1));
+                if (attacker == null || defender == null) return true;
+                return addWarshipWithSector(attacker) && addWarshipWithSector(defender);
+            }
+            case ASSAULT -> {
+                Sector sector = sectors.get(event.get(0));
+                if (sector == null) return true;
+                if (changed(changedSector, sector.getId())) return false;
+                addSector(sector.getId());
+                for (Warship warship : sector.warships) {
+                    if (!addWarship(warship)) return false;
+                }
+                return true;
+            }
+            case JUMP_TO_SECTOR -> {
+                Warship warship = warships.get(event.get(0));
+                Sector sector = sectors.get(event.get(1));
+                if (warship == null || sector == null) return true;
+                addSector(sector.getId());
+                return addWarshipWithSector(warship);
+            }
+            case VISIT_COROUSANT, UPGRADE_SHIELD, UPGRADE_ARMAMENT -> {
+                Warship warship = warships.get(event.get(0));
+                if (warship == null) return true;
+                return addWarship(warship);
+            }
+            case ADD_CREWMAN, REMOVE_CREWMAN -> {
+                Crewman crewman = crewMen.get(event.get(0));
+                Warship warship = warships.get(event.get(1));
+                if (crewman == null || warship == null) return true;
+                return addWarship(warship) && addCrewman(crewman);
+            }
+            case TRAIN_OFFICER -> {
+                Crewman crewman = crewMen.get(event.get(0));
+                if (crewman == null) return true;
+                return addCrewman(crewman);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * adds the warship and its sector, for events that may move the warship or change its sector's warships
+     */
+    private boolean addWarshipWithSector(Warship warship) {
+        if (changed(movedWarship, warship.getId())) return false;
+        addSector(warship.getCurrentSector().getId());
+        return addWarship(warship);
+    }
+
+    /**
+     * adds the warship, and for a cruiser its captives: a captive removed from the cruiser stays in the captive list,
+     * so it may meanwhile be free or serve on another warship, destroying or visiting with the cruiser still reaches it
+     */
+    private boolean addWarship(Warship warship) {
+        add(warship.getId(), 1);
+        if (warship instanceof RepublicCruiser cruiser) {
+            if (changed(freedCaptive, cruiser.getId())) return false;
+            for (Crewman captive : cruiser.getCaptives()) {
+                add(captive.getId(), 2);
+                Warship current = captive.getCurrentWarship();
+                if (current != null && current != cruiser) add(current.getId(), 1);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * adds the crewman, the warship it is currently on and the warship whose crew it is in,
+     * the latter is notified when the crewman changes (see Crewman.getCrewWarship)
+     */
+    private boolean addCrewman(Crewman crewman) {
+        if (changed(movedCrewman, crewman.getId())) return false;
+        add(crewman.getId(), 2);
+        Warship current = crewman.getCurrentWarship();
+        if (current != null) {
+            if (changed(changedCrew, current.getId())) return false;
+            add(current.getId(), 1);
+        }
+        Warship crewWarship = crewman.getCrewWarship();
+        if (crewWarship != null && crewWarship != current) {
+            if (changed(changedCrew, crewWarship.getId())) return false;
+            add(crewWarship.getId(), 1);
+        }
+        return true;
+    }
+
+    private void addSector(int id) {
+        add(id, 0);
+    }
+
+    /**
+     * @param id id of the resource
+     * @param kind 0 sector, 1 warship, 2 crewman
+     */
+    private void add(int id, int kind) {
+        switch (kind) {
+            case 0 -> {
+                if (sectorCount == footprintSectors.length) footprintSectors = Arrays.copyOf(footprintSectors, sectorCount * 2);
+                footprintSectors[sectorCount++] = id;
+            }
+            case 1 -> {
+                if (warshipCount == footprintWarships.length) footprintWarships = Arrays.copyOf(footprintWarships, warshipCount * 2);
+                footprintWarships[warshipCount++] = id;
+            }
+            default -> {
+                if (crewmanCount == footprintCrewmen.length) footprintCrewmen = Arrays.copyOf(footprintCrewmen, crewmanCount * 2);
+                footprintCrewmen[crewmanCount++] = id;
+            }
+        }
+    }
+
+    /**
+     * marks the relations that the event may change, later events depending on them wait for the window to run
+     * @param event event being scheduled, its footprint is already computed
+     */
+    private void markChanges(Event event) {
+        switch (event.type) {
+            case ATTACK, ASSAULT, JUMP_TO_SECTOR -> {
+                // warships may move, get destroyed, lose crewmen and take captives
+                for (int i = 0; i < sectorCount; i++) changedSector[footprintSectors[i]] = stamp;
+                for (int i = 0; i < warshipCount; i++) {
+                    movedWarship[footprintWarships[i]] = stamp;
+                    changedCrew[footprintWarships[i]] = stamp;
+                }
+            }
+            case VISIT_COROUSANT -> {
+                // captives are imprisoned and leave the cruiser
+                for (int i = 0; i < warshipCount; i++) changedCrew[footprintWarships[i]] = stamp;
+            }
+            case ADD_CREWMAN, REMOVE_CREWMAN -> {
+                Crewman crewman = crewMen.get(event.get(0));
+                Warship warship = warships.get(event.get(1));
+                if (crewman == null || warship == null) return;
+                movedCrewman[crewman.getId()] = stamp;
+                changedCrew[warship.getId()] = stamp;
+                if (event.type == EventType.REMOVE_CREWMAN) freedCaptive[warship.getId()] = stamp;
+            }
+            default -> {
+            }
+        }
+    }
+}
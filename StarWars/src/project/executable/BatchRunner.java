@@ -0,0 +1,103 @@
+package project.executable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+public class BatchRunner {
+	/**
+	 * runs many scenarios in a single JVM on a bounded worker pool and reports the time spent on each one
+	 * each scenario goes through its own InputReader -> EventHandler -> OutputGenerator pipeline (see Main.run)
+	 * @param args scenarios output-directory [--threads=N] [Main options]
+	 *             scenarios : a directory, every *.in file in it is run,
+	 *                         or a manifest file listing one input-file per line, optionally followed by its output-file
+	 *             output-directory : where output-files without an explicit name are written, as name.out
+	 *             --threads : size of the worker pool, number of available processors by default
+	 *             Main options (see Main.Options) apply to every scenario, except the per run
+	 *             --checkpoint, --snapshot and --metrics which are rejected
+	 *             exits with status 1 if any scenario fails
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int threads = Runtime.getRuntime().availableProcessors();
+		for (int i = 2; i < args.length; i++) {
+			if (args[i].startsWith("--threads=")) threads = Integer.parseInt(args[i].substring("--threads=".length()));
+		}
+		String usage = "BatchRunner scenarios output-directory [--threads=N]";
+		Main.Options options = Main.Options.parseOrExit(args, 2, usage, "--threads=");
+		if (options.checkpointFile != null || options.snapshotFile != null || options.metrics) {
+			// every scenario would write (and resume from) the same file
+			System.err.println("--checkpoint, --snapshot and --metrics are per run, they cannot be shared by the scenarios of a batch");
+			System.err.println("usage: " + usage + " " + Main.Options.USAGE);
+			System.exit(2);
+		}
+		File outputDirectory = new File(args[1]);
+		outputDirectory.mkdirs();
+		ArrayList<String[]> scenarios = listScenarios(new File(args[0]), outputDirectory);
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		ArrayList<Future<Long>> timings = new ArrayList<>();
+		long start = System.nanoTime();
+		for (String[] scenario : scenarios) {
+			timings.add(pool.submit(() -> {
+				long t = System.nanoTime();
+				if (!Main.run(scenario[0], scenario[1], options)) throw new IOException("scenario failed, see the error above");
+				return System.nanoTime() - t;
+			}));
+		}
+		int failed = 0;
+		for (int i = 0; i < scenarios.size(); i++) {
+			try {
+				System.out.printf("%s %.3f ms%n", scenarios.get(i)[0], timings.get(i).get() / 1e6);
+			} catch (ExecutionException e) {
+				failed++;
+				System.out.printf("%s FAILED %s%n", scenarios.get(i)[0], e.getCause());
+			}
+		}
+		pool.shutdown();
+		System.out.printf("%d scenarios (%d failed) in %.3f ms on %d threads%n",
+				scenarios.size(), failed, (System.nanoTime() - start) / 1e6, threads);
+		if (failed > 0) System.exit(1);
+	}
+
+	/**
+	 * @param source directory of input-files or manifest file
+	 * @param outputDirectory default location of output-files
+	 * @return input-file, output-file pairs
+	 */
+	private static ArrayList<String[]> listScenarios(File source, File outputDirectory) throws IOException {
+		ArrayList<String[]> scenarios = new ArrayList<>();
+		if (source.isDirectory()) {
+			File[] inputs = source.listFiles((dir, name) -> name.endsWith(".in"));
+			if (inputs == null) return scenarios;
+			Arrays.sort(inputs);
+			for (File input : inputs) {
+				scenarios.add(new String[]{input.getPath(), defaultOutput(input, outputDirectory)});
+			}
+		} else {
+			for (String line : Files.readAllLines(source.toPath())) {
+				String[] parts = line.trim().split("\\s+");
+				if (parts[0].isEmpty() || parts[0].startsWith("#")) continue;
+				String output = parts.length > 1 ? parts[1] : defaultOutput(new File(parts[0]), outputDirectory);
+				scenarios.add(new String[]{parts[0], output});
+			}
+		}
+		return scenarios;
+	}
+
+	/**
+	 * @return output-directory/name.out for input-file name.in
+	 */
+	private static String defaultOutput(File input, File outputDirectory) {
+		String name = input.getName();
+		if (name.endsWith(".in")) name = name.substring(0, name.length() - 3);
+		return Path.of(outputDirectory.getPath(), name + ".out").toString();
+	}
+}
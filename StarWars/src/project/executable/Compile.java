@@ -0,0 +1,18 @@
+package project.executable;
+
+import project.io.EventLog;
+
+import java.io.IOException;
+
+
+public class Compile {
+	/**
+	 * compiles a text input-file into a binary event log, which Main accepts in place of the input-file
+	 * @param args input-file event-log
+	 */
+	public static void main(String[] args) throws IOException {
+		long start = System.nanoTime();
+		long events = EventLog.compile(args[0], args[1]);
+		System.out.printf("%d events compiled in %.3f ms%n", events, (System.nanoTime() - start) / 1e6);
+	}
+}
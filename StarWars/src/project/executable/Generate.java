@@ -0,0 +1,49 @@
+package project.executable;
+
+import project.enums.EventType;
+import project.io.ScenarioGenerator;
+
+import java.io.IOException;
+
+
+public class Generate {
+	/**
+	 * writes a synthetic scenario in the input-file format
+	 * @param args output-file [--key=value ...]
+	 *             --seed, --sectors, --officers, --jedi, --sith,
+	 *             --cruisers, --destroyers, --frigates, --battleships,
+	 *             --crew (crew size of each warship), --coordinates, --events,
+	 *             --mix=TYPE:weight,... (relative frequency of each EventType, unlisted types get 0)
+	 */
+	public static void main(String[] args) throws IOException {
+		ScenarioGenerator generator = new ScenarioGenerator();
+		for (int i = 1; i < args.length; i++) {
+			String[] option = args[i].split("=", 2);
+			if (option.length != 2) throw new IllegalArgumentException("expected --key=value: " + args[i]);
+			String value = option[1];
+			switch (option[0]) {
+				case "--seed" -> generator.seed(Long.parseLong(value));
+				case "--sectors" -> generator.sectors(Integer.parseInt(value));
+				case "--officers" -> generator.officers(Integer.parseInt(value));
+				case "--jedi" -> generator.jedi(Integer.parseInt(value));
+				case "--sith" -> generator.sith(Integer.parseInt(value));
+				case "--cruisers" -> generator.cruisers(Integer.parseInt(value));
+				case "--destroyers" -> generator.destroyers(Integer.parseInt(value));
+				case "--frigates" -> generator.frigates(Integer.parseInt(value));
+				case "--battleships" -> generator.battleships(Integer.parseInt(value));
+				case "--crew" -> generator.crewSize(Integer.parseInt(value));
+				case "--coordinates" -> generator.coordinates(Integer.parseInt(value));
+				case "--events" -> generator.events(Long.parseLong(value));
+				case "--mix" -> {
+					for (EventType type : EventType.values()) generator.weight(type, 0);
+					for (String entry : value.split(",")) {
+						String[] weight = entry.split(":");
+						generator.weight(EventType.valueOf(weight[0]), Integer.parseInt(weight[1]));
+					}
+				}
+				default -> throw new IllegalArgumentException("unknown option " + option[0]);
+			}
+		}
+		generator.write(args[0]);
+	}
+}
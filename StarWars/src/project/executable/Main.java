@@ -1,40 +1,201 @@
 package project.executable;
 
+import project.enums.AssaultEngine;
+import project.event.Event;
 import project.event.EventHandler;
+import project.event.EventMetrics;
+import project.io.Checkpoint;
+import project.io.EventLog;
 import project.io.InputReader;
 import project.io.OutputGenerator;
+import project.io.Snapshot;
 import project.sector.Sector;
 import project.crewman.Crewman;
+import project.util.Registry;
 import project.warships.*;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.File;
+import java.io.IOException;
 
 
 public class Main {
+	/**
+	 * command line options shared by Main and BatchRunner
+	 */
+	public static class Options {
+		public boolean memoryMapped = false; // --mmap : memory-map the input file instead of reading it through a heap buffer
+		public boolean parallel = false; // --parallel : run independent events concurrently
+		public AssaultEngine assaultEngine = AssaultEngine.SEGMENT_TREE; // --assault=segment-tree|union-find|cross-check
+		public String snapshotFile = null; // --snapshot=FILE : save a binary snapshot of the end state (see Snapshot)
+		public String checkpointFile = null; // --checkpoint=FILE : periodically checkpoint the run (see Checkpoint)
+		public long checkpointEvents = 0; // --checkpoint-events=N : events between checkpoints
+		public long checkpointSeconds = 0; // --checkpoint-seconds=T : seconds between checkpoints
+		public boolean resume = false; // --resume : continue from the checkpoint file if it exists
+		public boolean metrics = false; // --metrics : print per event type counts and latencies at the end (see EventMetrics)
+		public String metricsFile = null; // --metrics=FILE : write them as JSON instead
+
+		public static final String USAGE = "[--mmap] [--parallel] [--assault=segment-tree|union-find|cross-check] [--snapshot=FILE]"
+				+ " [--checkpoint=FILE [--checkpoint-events=N] [--checkpoint-seconds=T] [--resume]] [--metrics[=FILE]]";
+
+		/**
+		 * @param args command line arguments
+		 * @param from index of the first option
+		 * @param callerOptions prefixes of the options handled by the caller, they are skipped
+		 * @return the parsed options
+		 * @throws IllegalArgumentException if an option is unknown or has a malformed value
+		 */
+		public static Options parse(String[] args, int from, String... callerOptions) {
+			Options options = new Options();
+			for (int i = from; i < args.length; i++) {
+				switch (args[i]) {
+					case "--mmap" -> options.memoryMapped = true;
+					case "--parallel" -> options.parallel = true;
+					case "--resume" -> options.resume = true;
+					case "--metrics" -> options.metrics = true;
+					default -> {
+						if (args[i].startsWith("--assault="))
+							options.assaultEngine = AssaultEngine.valueOf(args[i].substring(10).toUpperCase().replace('-', '_'));
+						else if (args[i].startsWith("--snapshot="))
+							options.snapshotFile = args[i].substring(11);
+						else if (args[i].startsWith("--checkpoint="))
+							options.checkpointFile = args[i].substring(13);
+						else if (args[i].startsWith("--checkpoint-events="))
+							options.checkpointEvents = Long.parseLong(args[i].substring(20));
+						else if (args[i].startsWith("--checkpoint-seconds="))
+							options.checkpointSeconds = Long.parseLong(args[i].substring(21));
+						else if (args[i].startsWith("--metrics=")) {
+							options.metrics = true;
+							options.metricsFile = args[i].substring(10);
+						}
+						else if (!isCallerOption(args[i], callerOptions))
+							throw new IllegalArgumentException("unknown option " + args[i]);
+					}
+				}
+			}
+			if (options.checkpointFile != null && options.checkpointEvents == 0 && options.checkpointSeconds == 0)
+				options.checkpointEvents = 1_000_000;
+			return options;
+		}
+
+		/**
+		 * parses the options, or prints the error with the usage and exits with status 2
+		 * @param usage usage of the calling command, the options are appended to it
+		 * @see #parse(String[], int, String...)
+		 */
+		public static Options parseOrExit(String[] args, int from, String usage, String... callerOptions) {
+			try {
+				return parse(args, from, callerOptions);
+			} catch (IllegalArgumentException e) {
+				System.err.println(e.getMessage());
+				System.err.println("usage: " + usage + " " + USAGE);
+				System.exit(2);
+				return null;
+			}
+		}
+
+		private static boolean isCallerOption(String arg, String[] callerOptions) {
+			for (String prefix : callerOptions) {
+				if (arg.startsWith(prefix)) return true;
+			}
+			return false;
+		}
+	}
+
 	/**
 	 * generates an output-file summarizing end state of entities in this world
-	 * @param args input-file output-file
+	 * @param args input-file output-file [--mmap] [--parallel] [--assault=ENGINE] [--snapshot=FILE]
+	 *             [--checkpoint=FILE [--checkpoint-events=N] [--checkpoint-seconds=T] [--resume]] [--metrics[=FILE]] (see Options)
 	 */
 	public static void main(String[] args) {
+		String usage = "Main input-file output-file";
+		if (args.length < 2) {
+			System.err.println("usage: " + usage + " " + Options.USAGE);
+			System.exit(2);
+		}
+		if (!run(args[0], args[1], Options.parseOrExit(args, 2, usage))) System.exit(1);
+	}
 
+	/**
+	 * runs one scenario from input-file to output-file, the input-file is either a text input or an event log (see EventLog)
+	 * every call works on its own entities, so several scenarios can run concurrently
+	 * @param inputFile input-file of the scenario
+	 * @param outputFile output-file to be generated
+	 * @param options options of the run
+	 * @return false if the scenario failed: a file could not be read or written, the error is printed
+	 */
+	public static boolean run(String inputFile, String outputFile, Options options) {
 		// relevant entities are stored in the following containers
-		HashMap<Integer, Sector> sectors = new HashMap<>();
-		HashMap<Integer, Warship> warships = new HashMap<>();
-		HashMap<Integer, Crewman> crewMen = new HashMap<>();
+		Registry<Sector> sectors = new Registry<>();
+		Registry<Warship> warships = new Registry<>();
+		Registry<Crewman> crewMen = new Registry<>();
 
-		InputReader inputReader = new InputReader(args[0],sectors, warships, crewMen);
-		inputReader.extractEntities();
-		var events = inputReader.extractEvents();
-		if (events == null) return;
+		// on resume, entities come from the checkpoint and the events are replayed from the input-file after the cursor
+		boolean resume = options.resume && options.checkpointFile != null && new File(options.checkpointFile).exists();
+		// events are parsed or decoded while they are handled, the input-file stays open until they are
+		try {
+			Checkpoint.InputFingerprint input = options.checkpointFile == null ? null : Checkpoint.InputFingerprint.of(inputFile);
+			long cursor = resume ? Checkpoint.load(options.checkpointFile, input, sectors, warships, crewMen) : 0;
+			if (EventLog.isEventLog(inputFile)) {
+				try (EventLog eventLog = resume ? EventLog.open(inputFile, null, null, null)
+						: EventLog.open(inputFile, sectors, warships, crewMen)) {
+					return simulate(sectors, warships, crewMen, eventLog.events(), input, cursor, outputFile, options);
+				}
+			} else {
+				try (InputReader inputReader = InputReader.open(inputFile, options.memoryMapped, sectors, warships, crewMen)) {
+					if (resume) inputReader.skipEntities();
+					else inputReader.extractEntities();
+					return simulate(sectors, warships, crewMen, inputReader.streamEvents(), input, cursor, outputFile, options);
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
 
+	/**
+	 * handles the events from the cursor on and generates the output-file
+	 * @param events events of the scenario, null if the input-file has no event section (no output-file is generated then)
+	 * @param input fingerprint of the input-file saved with checkpoints, null if checkpoints are disabled
+	 * @param cursor number of events already handled before a checkpoint, 0 for a fresh run
+	 * @return false if the output-file, the snapshot or the metrics could not be written
+	 */
+	private static boolean simulate(Registry<Sector> sectors, Registry<Warship> warships, Registry<Crewman> crewMen,
+								 Iterable<Event> events, Checkpoint.InputFingerprint input, long cursor, String outputFile, Options options) {
+		if (events == null) return true;
+		for (Sector sector : sectors.values()) sector.setAssaultEngine(options.assaultEngine);
 
 		EventHandler eventHandler = new EventHandler(sectors, warships, crewMen,events);
+		eventHandler.resumeFrom(cursor);
+		if (options.checkpointFile != null)
+			eventHandler.setCheckpoints(options.checkpointFile, input, options.checkpointEvents, options.checkpointSeconds);
+		eventHandler.setParallel(options.parallel);
+		EventMetrics metrics = options.metrics ? new EventMetrics() : null;
+		eventHandler.setMetrics(metrics);
 		eventHandler.handleEvents();
+		boolean written = true;
+		if (metrics != null) {
+			if (options.metricsFile == null) {
+				System.out.print(metrics.summary());
+			} else {
+				try {
+					metrics.writeJson(options.metricsFile);
+				} catch (IOException e) {
+					e.printStackTrace();
+					written = false;
+				}
+			}
+		}
+		if (options.snapshotFile != null) {
+			try {
+				Snapshot.save(options.snapshotFile, sectors, warships, crewMen);
+			} catch (IOException e) {
+				e.printStackTrace();
+				written = false;
+			}
+		}
 
-		OutputGenerator outputGenerator = new OutputGenerator(args[1], new ArrayList<>(crewMen.values()), new ArrayList<>(warships.values()));
-		outputGenerator.generateOutput();
-
-
+		OutputGenerator outputGenerator = new OutputGenerator(outputFile, crewMen.values(), warships.values());
+		return outputGenerator.generateOutput() && written;
 	}
 }
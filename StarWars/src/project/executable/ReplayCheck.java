@@ -0,0 +1,56 @@
+package project.executable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+
+public class ReplayCheck {
+	/**
+	 * replays every bundled scenario and compares the generated output with the expected one byte by byte
+	 * exits with status 1 if any scenario differs
+	 * @param args [tests-directory] [Main options]
+	 *             tests-directory : directory of name.in / name.out pairs, tests by default
+	 *             Main options (see Main.Options) apply to every scenario
+	 */
+	public static void main(String[] args) throws IOException {
+		int from = args.length > 0 && !args[0].startsWith("--") ? 1 : 0;
+		File directory = new File(from == 1 ? args[0] : "tests");
+		Main.Options options = Main.Options.parseOrExit(args, from, "ReplayCheck [tests-directory]");
+		File[] inputs = directory.listFiles((dir, name) -> name.endsWith(".in"));
+		if (inputs == null) {
+			System.out.println(directory + " is not a directory");
+			System.exit(1);
+		}
+		Arrays.sort(inputs);
+
+		int checked = 0, failed = 0;
+		Path actual = Files.createTempFile("replay", ".out");
+		try {
+			for (File input : inputs) {
+				String name = input.getName().substring(0, input.getName().length() - 3);
+				Path expected = input.toPath().resolveSibling(name + ".out");
+				if (!Files.exists(expected)) continue;
+				checked++;
+				Files.write(actual, new byte[0]);
+				boolean completed = Main.run(input.getPath(), actual.toString(), options);
+				long mismatch = Files.mismatch(expected, actual);
+				if (!completed) {
+					failed++;
+					System.out.println("FAIL " + name + " did not complete");
+				} else if (mismatch == -1) {
+					System.out.println("PASS " + name);
+				} else {
+					failed++;
+					System.out.println("FAIL " + name + " differs at byte " + mismatch);
+				}
+			}
+		} finally {
+			Files.deleteIfExists(actual);
+		}
+		System.out.printf("%d scenarios, %d failed%n", checked, failed);
+		if (failed > 0) System.exit(1);
+	}
+}
@@ -0,0 +1,94 @@
+package project.io;
+
+import project.crewman.Crewman;
+import project.sector.Sector;
+import project.util.Registry;
+import project.warships.Warship;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Checkpoint of an event run: the event cursor followed by a Snapshot of the world
+ * the cursor is the number of events of the input that were handled before the snapshot was taken
+ *
+ * layout: magic int, input size long, input last modified time long, cursor long, snapshot (see Snapshot)
+ * the input fingerprint ties the checkpoint to the input-file it was taken for, a checkpoint of another input is refused
+ * a checkpoint is written to a temporary file next to the target and then moved over it,
+ * so a crash while writing never leaves a truncated checkpoint behind
+ */
+public class Checkpoint {
+    private static final int MAGIC = 0x53574332; // "SWC2", "SWC1" checkpoints had no input fingerprint
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * size and last modified time of an input-file, in bytes and milliseconds
+     */
+    public record InputFingerprint(long size, long lastModified) {
+        /**
+         * @param fileName input-file of the run
+         * @return the current fingerprint of the file
+         * @throws IOException if the attributes of the file cannot be read
+         */
+        public static InputFingerprint of(String fileName) throws IOException {
+            Path path = Path.of(fileName);
+            return new InputFingerprint(Files.size(path), Files.getLastModifiedTime(path).toMillis());
+        }
+    }
+
+    private Checkpoint() {
+    }
+
+    /**
+     * atomically replaces the checkpoint file
+     * @param fileName checkpoint file
+     * @param input fingerprint of the input-file of the run
+     * @param cursor number of events handled so far
+     * @param sectors Registry containing all sectors
+     * @param warships Registry containing all warships
+     * @param crewMen Registry containing all crewmen
+     * @throws IOException if the checkpoint cannot be written
+     */
+    public static void save(String fileName, InputFingerprint input, long cursor, Registry<Sector> sectors, Registry<Warship> warships, Registry<Crewman> crewMen) throws IOException {
+        Path target = Path.of(fileName).toAbsolutePath();
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary.toFile()), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeLong(input.size());
+            out.writeLong(input.lastModified());
+            out.writeLong(cursor);
+            Snapshot.write(out, sectors, warships, crewMen);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * restores the world from the checkpoint file into empty registries
+     * @param fileName checkpoint file
+     * @param input fingerprint of the input-file the run is resumed with
+     * @param sectors empty Registry to be filled with the sectors
+     * @param warships empty Registry to be filled with the warships
+     * @param crewMen empty Registry to be filled with the crewmen
+     * @return the number of events handled before the checkpoint
+     * @throws IOException if the file cannot be read, is not a checkpoint or was taken for another input-file
+     */
+    public static long load(String fileName, InputFingerprint input, Registry<Sector> sectors, Registry<Warship> warships, Registry<Crewman> crewMen) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) throw new IOException("not a checkpoint: " + fileName);
+            InputFingerprint saved = new InputFingerprint(in.readLong(), in.readLong());
+            if (!saved.equals(input))
+                throw new IOException("checkpoint " + fileName + " was taken for another input-file: " + saved + ", input-file is " + input);
+            long cursor = in.readLong();
+            Snapshot.read(in, sectors, warships, crewMen);
+            return cursor;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package project.io;
+
+import project.crewman.Crewman;
+import project.enums.EventType;
+import project.event.Event;
+import project.sector.Sector;
+import project.util.Registry;
+import project.warships.Warship;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Compiled binary form of an input file, replaying it skips text parsing entirely
+ *
+ * layout (big-endian):
+ *  header  : magic int, version int, snapshot length long, event section flag byte (0 if the input has no event section)
+ *  entities: Snapshot of the initial entities
+ *  events  : fixed-width records up to the end of the file, RECORD_SIZE bytes each:
+ *            opcode byte (EventType ordinal), three int32 arguments (unused ones are 0)
+ * the number of arguments of an opcode is implied by its EventType, events the text reader rejects are not compiled
+ * the file is opened again for the events, it stays open until close is called
+ * malformed logs (a snapshot length outside the file, a partial record, an unknown opcode) are rejected with the offending offset
+ */
+public class EventLog implements Closeable {
+    private static final int MAGIC = 0x5357454C; // "SWEL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 17;
+    public static final int RECORD_SIZE = 1 + 4 * Event.MAX_PARAMETERS;
+    private static final int BUFFER_SIZE = RECORD_SIZE << 12;
+    private static final EventType[] OPCODES = EventType.values();
+    private static final int[] PARAMETER_COUNTS = new int[OPCODES.length];
+
+    static {
+        for (EventType type : OPCODES) {
+            PARAMETER_COUNTS[type.ordinal()] = switch (type) {
+                case ASSAULT, VISIT_COROUSANT, TRAIN_OFFICER -> 1;
+                case ATTACK, ADD_CREWMAN, REMOVE_CREWMAN, UPGRADE_SHIELD, UPGRADE_ARMAMENT -> 2;
+                case JUMP_TO_SECTOR -> 3;
+            };
+        }
+    }
+
+    private final String fileName;
+    private final long eventsStart;
+    private final boolean hasEvents;
+    private FileChannel channel; // channel of the events, null until events is called
+
+    private EventLog(String fileName, long eventsStart, boolean hasEvents) {
+        this.fileName = fileName;
+        this.eventsStart = eventsStart;
+        this.hasEvents = hasEvents;
+    }
+
+    /**
+     * compiles a text input file into an event log
+     * @param inputFile text input file (see InputReader)
+     * @param logFile event log to be written
+     * @return number of compiled events
+     * @throws IOException if a file cannot be read or written
+     */
+    public static long compile(String inputFile, String logFile) throws IOException {
+        Registry<Sector> sectors = new Registry<>();
+        Registry<Warship> warships = new Registry<>();
+        Registry<Crewman> crewMen = new Registry<>();
+        try (InputReader inputReader = new InputReader(inputFile, sectors, warships, crewMen)) {
+            inputReader.extractEntities();
+            ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(snapshot)) {
+                Snapshot.write(out, sectors, warships, crewMen);
+            }
+            return write(snapshot, inputReader.streamEvents(), logFile);
+        }
+    }
+
+    /**
+     * @return number of written events
+     */
+    private static long write(ByteArrayOutputStream snapshot, Iterable<Event> events, String logFile) throws IOException {
+        long count = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(logFile), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(snapshot.size());
+            out.writeByte(events == null ? 0 : 1);
+            snapshot.writeTo(out);
+            if (events == null) return 0;
+            for (Event event : events) {
+                out.writeByte(event.type.ordinal());
+                for (int i = 0; i < Event.MAX_PARAMETERS; i++) out.writeInt(i < event.parameterCount ? event.get(i) : 0);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param fileName file to be checked
+     * @return true if the file starts like an event log
+     */
+    public static boolean isEventLog(String fileName) {
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            while (magic.hasRemaining() && channel.read(magic) > 0) ;
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * opens an event log and restores its initial entities into empty registries
+     * @param fileName event log to be read
+     * @param sectors empty Registry to be filled with the sectors, null to skip the entities
+     * @param warships empty Registry to be filled with the warships
+     * @param crewMen empty Registry to be filled with the crewmen
+     * @return the opened event log
+     * @throws IOException if the file cannot be read, is not an event log or its snapshot length does not fit in the file
+     */
+    public static EventLog open(String fileName, Registry<Sector> sectors, Registry<Warship> warships, Registry<Crewman> crewMen) throws IOException {
+        FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ);
+        try (InputStream file = Channels.newInputStream(channel);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+            if (in.readInt() != MAGIC) throw new IOException("not an event log: " + fileName);
+            int version = in.readInt();
+            if (version != VERSION) throw new IOException("unsupported event log version " + version);
+            long snapshotLength = in.readLong();
+            if (snapshotLength < 0 || snapshotLength > channel.size() - HEADER_SIZE)
+                throw new IOException("malformed event log " + fileName + ": snapshot length " + snapshotLength
+                        + " at offset 8 does not fit in the file of " + channel.size() + " bytes");
+            boolean hasEvents = in.readByte() != 0;
+            if (sectors != null) Snapshot.read(in, sectors, warships, crewMen);
+            return new EventLog(fileName, HEADER_SIZE + snapshotLength, hasEvents);
+        }
+    }
+
+    /**
+     * the returned Iterable can only be iterated once, and it hands out the same Event object
+     * for every event: it is only valid until the next call to next() (see InputReader.streamEvents)
+     * the events are read through a channel that stays open until close is called
+     * @return the events of the log, read in bulk and decoded on demand / null if the input had no event section
+     * a record with an unknown opcode makes the iterator throw an IllegalStateException caused by an IOException
+     * @throws IOException if the file cannot be opened or its event section is not a whole number of records
+     */
+    public Iterable<Event> events() throws IOException {
+        if (!hasEvents) return null;
+        close();
+        FileChannel events = FileChannel.open(Path.of(fileName), StandardOpenOption.READ);
+        channel = events;
+        long length = events.size() - eventsStart;
+        if (length % RECORD_SIZE != 0) {
+            close();
+            throw new IOException("truncated event log " + fileName + ": partial record at offset "
+                    + (eventsStart + length / RECORD_SIZE * RECORD_SIZE) + ", the event section is " + length
+                    + " bytes, not a multiple of " + RECORD_SIZE);
+        }
+        events.position(eventsStart);
+        return () -> new RecordIterator(events, fileName, eventsStart);
+    }
+
+    /**
+     * closes the channel of the events, if they were opened
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) channel.close();
+        channel = null;
+    }
+
+    /**
+     * decodes fixed-width records from the channel into a single reused Event
+     */
+    private static class RecordIterator implements Iterator<Event> {
+        private final FileChannel channel;
+        private final String fileName;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final Event event = new Event();
+        private boolean eof;
+        private long offset; // file offset of the next record
+
+        RecordIterator(FileChannel channel, String fileName, long offset) {
+            this.channel = channel;
+            this.fileName = fileName;
+            this.offset = offset;
+            buffer.flip();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (buffer.remaining() >= RECORD_SIZE) return true;
+            if (eof) return false;
+            try {
+                buffer.compact();
+                while (buffer.position() < RECORD_SIZE) {
+                    if (channel.read(buffer) < 0) {
+                        eof = true;
+                        channel.close();
+                        break;
+                    }
+                }
+                buffer.flip();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            // events() checked the length, the file was cut while it was read
+            if (eof && buffer.hasRemaining() && buffer.remaining() < RECORD_SIZE)
+                throw malformed("partial record of " + buffer.remaining() + " bytes");
+            return buffer.remaining() >= RECORD_SIZE;
+        }
+
+        @Override
+        public Event next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            int opcode = Byte.toUnsignedInt(buffer.get());
+            if (opcode >= OPCODES.length) throw malformed("unknown opcode " + opcode);
+            EventType type = OPCODES[opcode];
+            offset += RECORD_SIZE;
+            return event.set(type, PARAMETER_COUNTS[type.ordinal()], buffer.getInt(), buffer.getInt(), buffer.getInt());
+        }
+
+        private IllegalStateException malformed(String problem) {
+            return new IllegalStateException(new IOException("malformed event log " + fileName + ": " + problem + " at offset " + offset));
+        }
+    }
+}
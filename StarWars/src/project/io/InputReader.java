@@ -9,40 +9,71 @@ import project.enums.EventType;
 import project.enums.Intrinsic;
 import project.event.Event;
 import project.sector.Sector;
+import project.util.Registry;
 import project.warships.Warship;
+import project.warships.WarshipFactory;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.lang.reflect.InvocationTargetException;
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Scanner;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
-public class InputReader {
-    private Scanner input;
-    HashMap<Integer, Sector> sectors;
-    HashMap<Integer, Warship> warships;
-    HashMap<Integer, Crewman> crewMen;
+/**
+ * Reader of the input file, the file stays open while the events are streamed, until close is called
+ */
+public class InputReader implements Closeable {
+    private Tokenizer input;
+    Registry<Sector> sectors;
+    Registry<Warship> warships;
+    Registry<Crewman> crewMen;
 
     /**
      * Constructor for InputReader
      * @param fileName  the name of the file to be read
-     * @param sectors  the HashMap of Sectors
-     * @param warships the HashMap of Warships
-     * @param crewMen the HashMap of Crewmen
+     * @param sectors  the Registry of Sectors
+     * @param warships the Registry of Warships
+     * @param crewMen the Registry of Crewmen
      */
-    public InputReader(String fileName,HashMap<Integer, Sector> sectors, HashMap<Integer, Warship> warships, HashMap<Integer, Crewman> crewMen) {
-        File inputFile = new File(fileName);
+    public InputReader(String fileName,Registry<Sector> sectors, Registry<Warship> warships, Registry<Crewman> crewMen) {
+        this(fileName, false, sectors, warships, crewMen);
+    }
+
+    /**
+     * Constructor for InputReader
+     * @param fileName  the name of the file to be read
+     * @param memoryMapped if true, the file is memory-mapped in chunks instead of being read into a heap buffer,
+     *                     meant for scenario files too large to be buffered
+     * @param sectors  the Registry of Sectors
+     * @param warships the Registry of Warships
+     * @param crewMen the Registry of Crewmen
+     */
+    public InputReader(String fileName, boolean memoryMapped, Registry<Sector> sectors, Registry<Warship> warships, Registry<Crewman> crewMen) {
         try {
-            this.input = new Scanner(inputFile);
+            this.input = memoryMapped ? new MappedTokenizer(fileName) : new Tokenizer(fileName);
             this.crewMen = crewMen;
             this.sectors = sectors;
             this.warships = warships;
 
-        } catch (FileNotFoundException e) {
+        } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    private InputReader(Tokenizer input, Registry<Sector> sectors, Registry<Warship> warships, Registry<Crewman> crewMen) {
+        this.input = input;
+        this.crewMen = crewMen;
+        this.sectors = sectors;
+        this.warships = warships;
+    }
+
+    /**
+     * same as the constructor, except that a file that cannot be opened is reported to the caller
+     * @throws IOException if the file cannot be opened
+     */
+    public static InputReader open(String fileName, boolean memoryMapped, Registry<Sector> sectors, Registry<Warship> warships, Registry<Crewman> crewMen) throws IOException {
+        return new InputReader(memoryMapped ? new MappedTokenizer(fileName) : new Tokenizer(fileName), sectors, warships, crewMen);
+    }
     /**
      * Reads the input file and creates the entities
      */
@@ -55,6 +86,44 @@ public class InputReader {
 
     }
 
+    /**
+     * skips the entity section of the input file without creating any entity,
+     * used when the entities are restored from a checkpoint instead
+     */
+    public void skipEntities() {
+        if (!input.hasNext()) return;
+        skipTokens(2 * input.nextInt());
+        int crewmanCount = input.nextInt();
+        for (int i = 0; i < crewmanCount; i++) {
+            input.nextToken();
+            if (input.tokenEquals("Officer")) skipTokens(3);
+            else if (input.tokenEquals("Jedi") || input.tokenEquals("Sith")) skipTokens(4);
+        }
+        int warshipCount = input.nextInt();
+        for (int i = 0; i < warshipCount; i++) {
+            skipTokens(4);
+            skipTokens(input.nextInt());
+        }
+    }
+
+    private void skipTokens(int count) {
+        for (int i = 0; i < count; i++) input.nextToken();
+    }
+
+    /**
+     * closes the input file, events that are not iterated yet are dropped
+     * the last event count does not have to reach the end of the file, so this has to be called once the events are handled
+     */
+    @Override
+    public void close() {
+        if (input == null) return;
+        try {
+            input.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     /**
      * parses input file and generates relevant Events
      * @return  the ArrayList of Events
@@ -64,31 +133,90 @@ public class InputReader {
         ArrayList<Event> events = new ArrayList<>();
         int eventCount = input.nextInt();
         for(int i = 0; i<eventCount ; i++){
-            switch (input.nextInt()){
-                case 10-> events.add(new Event(EventType.ATTACK, input.nextInt(),input.nextInt()));
-                case 11-> events.add(new Event(EventType.ASSAULT,input.nextInt()));
-                case 20-> events.add(new Event(EventType.JUMP_TO_SECTOR,input.nextInt(),input.nextInt(),input.nextInt()));
-                case 30-> events.add(new Event(EventType.VISIT_COROUSANT,input.nextInt()));
-                case 40-> events.add(new Event(EventType.ADD_CREWMAN,input.nextInt(),input.nextInt()));
-                case 41-> events.add(new Event(EventType.REMOVE_CREWMAN,input.nextInt(),input.nextInt()));
-                case 50-> events.add(new Event(EventType.TRAIN_OFFICER,input.nextInt()));
-                case 51->{
-                    int warshipId = input.nextInt();
-                    String armOrShield = input.next();
-                    int amount = input.nextInt();
-                    if (armOrShield.equals("Armament")){
-                        events.add(new Event(EventType.UPGRADE_ARMAMENT,warshipId,amount));
-                    }else if (armOrShield.equals("Shield")){
-                        events.add(new Event(EventType.UPGRADE_SHIELD,warshipId,amount));
-                    }
+            Event event = new Event();
+            if (readEvent(event)) events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * parses the events lazily, one at a time while they are iterated,
+     * so that the events never have to be held in memory all at once
+     * the returned Iterable can only be iterated once, and it hands out the same Event object
+     * for every event: it is only valid until the next call to next()
+     * @return the Iterable of Events / null if the input has no event section
+     */
+    public Iterable<Event> streamEvents(){
+        if (!input.hasNext()) return null;
+        int eventCount = input.nextInt();
+        return () -> new EventIterator(eventCount);
+    }
+
+    /**
+     * iterates over the remaining events of the input file, parsing each one on demand into a single reused Event
+     */
+    private class EventIterator implements Iterator<Event> {
+        private int remaining;
+        private final Event event = new Event();
+        private boolean ready;
+
+        EventIterator(int eventCount) {
+            this.remaining = eventCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!ready && remaining > 0) {
+                remaining--;
+                ready = readEvent(event);
+            }
+            return ready;
+        }
+
+        @Override
+        public Event next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            ready = false;
+            return event;
+        }
+    }
+
+    /**
+     * parses the next event of the input file
+     * @param event Event to be filled with the parsed event
+     * @return false if the event is not recognized
+     */
+    private boolean readEvent(Event event){
+        switch (input.nextInt()){
+            case 10-> event.set(EventType.ATTACK, 2, input.nextInt(), input.nextInt(), 0);
+            case 11-> event.set(EventType.ASSAULT, 1, input.nextInt(), 0, 0);
+            case 20-> event.set(EventType.JUMP_TO_SECTOR, 3, input.nextInt(), input.nextInt(), input.nextInt());
+            case 30-> event.set(EventType.VISIT_COROUSANT, 1, input.nextInt(), 0, 0);
+            case 40-> event.set(EventType.ADD_CREWMAN, 2, input.nextInt(), input.nextInt(), 0);
+            case 41-> event.set(EventType.REMOVE_CREWMAN, 2, input.nextInt(), input.nextInt(), 0);
+            case 50-> event.set(EventType.TRAIN_OFFICER, 1, input.nextInt(), 0, 0);
+            case 51->{
+                int warshipId = input.nextInt();
+                input.nextToken();
+                int amount = input.nextInt();
+                if (input.tokenEquals("Armament")){
+                    event.set(EventType.UPGRADE_ARMAMENT, 2, warshipId, amount, 0);
+                }else if (input.tokenEquals("Shield")){
+                    event.set(EventType.UPGRADE_SHIELD, 2, warshipId, amount, 0);
+                }else {
+                    return false;
                 }
             }
+            default -> {
+                return false;
+            }
         }
-        return events;
+        return true;
     }
 
     /**
      * generates warships from input file
+     * warship classes are looked up by name in the WarshipFactory
      */
     private void generateWarships() {
         int warshipCount = input.nextInt();
@@ -103,19 +231,12 @@ public class InputReader {
                 crew.add(crewMen.get(input.nextInt()));
             }
             try {
-                Warship w = (Warship) Class.forName("project.warships.concrete."+className)
-                        .getConstructor(
-                                int.class,
-                                String.class,
-                                Sector.class,
-                                int.class,
-                                ArrayList.class)
-                        .newInstance(i, warshipName, sectors.get(sectorId), coordinate, crew);
+                Warship w = WarshipFactory.create(className, i, warshipName, sectors.get(sectorId), coordinate, crew);
                 warships.put(i, w);
                 sectors.get(sectorId).addWarship(w);
 
 
-            } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException | ClassNotFoundException e) {
+            } catch (IllegalArgumentException e) {
                 e.printStackTrace();
             }
 
@@ -0,0 +1,38 @@
+package project.io;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * Tokenizer that memory-maps the file chunk by chunk instead of copying it into a heap buffer,
+ * heap usage does not depend on the size of the file
+ */
+class MappedTokenizer extends Tokenizer {
+    private static final long CHUNK_SIZE = 1L << 26; // 64MB
+    private long offset;
+
+    /**
+     * opens the file for mapping
+     * @param fileName name of the file to be read
+     * @throws IOException if the file cannot be opened
+     */
+    MappedTokenizer(String fileName) throws IOException {
+        super(fileName);
+        this.offset = 0;
+    }
+
+    /**
+     * maps the next chunk of the file, tokens crossing the chunk boundary are handled by Tokenizer
+     * @return false if the end of the file is reached
+     * @throws IOException if the file cannot be mapped
+     */
+    @Override
+    protected boolean fill() throws IOException {
+        long size = getChannel().size();
+        if (offset >= size) return false;
+        long length = Math.min(CHUNK_SIZE, size - offset);
+        buffer = getChannel().map(FileChannel.MapMode.READ_ONLY, offset, length);
+        offset += length;
+        return true;
+    }
+}
@@ -0,0 +1,126 @@
+package project.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reusable output buffer with hand-rolled appends, written to the file channel only when full or on close
+ */
+class OutputBuffer implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[11];
+
+    /**
+     * creates or truncates the file
+     * @param fileName name of the file to write to
+     * @throws IOException if the file cannot be opened
+     */
+    OutputBuffer(String fileName) throws IOException {
+        this.channel = FileChannel.open(Path.of(fileName),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+    /**
+     * makes room for at least n more bytes, writing the buffer out if needed
+     * @param n number of bytes
+     */
+    private void ensure(int n) throws IOException {
+        if (buffer.remaining() < n) drain();
+    }
+
+    /**
+     * writes the buffered bytes to the channel
+     */
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * @param c ASCII character to append
+     * @return this buffer
+     */
+    OutputBuffer append(char c) throws IOException {
+        ensure(1);
+        buffer.put((byte) c);
+        return this;
+    }
+
+    /**
+     * appends the string encoded as UTF-8, the charset Tokenizer decodes names with,
+     * so names round-trip on any platform (ASCII strings take the fast path)
+     * @param s string to append
+     * @return this buffer
+     */
+    OutputBuffer append(String s) throws IOException {
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            if (s.charAt(i) >= 0x80) return append(s.getBytes(StandardCharsets.UTF_8));
+        }
+        if (length > buffer.capacity()) return append(s.getBytes(StandardCharsets.UTF_8));
+        ensure(length);
+        for (int i = 0; i < length; i++) {
+            buffer.put((byte) s.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * @param bytes bytes to append
+     * @return this buffer
+     */
+    private OutputBuffer append(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.capacity()) {
+            drain();
+            ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+            while (wrapped.hasRemaining()) channel.write(wrapped);
+            return this;
+        }
+        ensure(bytes.length);
+        buffer.put(bytes);
+        return this;
+    }
+
+    /**
+     * appends the decimal representation of the int, same as %d
+     * @param value int to append
+     * @return this buffer
+     */
+    OutputBuffer append(int value) throws IOException {
+        ensure(digits.length);
+        if (value < 0) {
+            buffer.put((byte) '-');
+        }
+        long v = Math.abs((long) value);
+        int n = 0;
+        do {
+            digits[n++] = (byte) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+        while (n > 0) {
+            buffer.put(digits[--n]);
+        }
+        return this;
+    }
+
+    /**
+     * writes out the remaining bytes and closes the file, the file is closed even if the write fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -7,14 +7,12 @@ import project.crewman.concrete.Officer;
 import project.enums.WarshipState;
 import project.warships.Warship;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 
 public class OutputGenerator {
-    FileWriter logFile;
+    OutputBuffer logFile;
     ArrayList<Crewman> crewMen;
     ArrayList<Warship> warships;
 
@@ -26,9 +24,8 @@ public class OutputGenerator {
      * @param warships ArrayList of warships entities
      */
     public OutputGenerator(String fileName,ArrayList<Crewman> crew, ArrayList<Warship> warships) {
-        File output = new File(fileName);
         try {
-            logFile = new FileWriter(output);
+            logFile = new OutputBuffer(fileName);
             this.crewMen = crew;
             this.warships = warships;
         } catch ( IOException e) {
@@ -40,8 +37,9 @@ public class OutputGenerator {
     /**
      * writes final crewmen state to the logFile
      * @param crewmen ArrayList of crewmen entities
+     * @throws IOException if the logFile cannot be written
      */
-    private void logCrewmen(ArrayList<Crewman> crewmen){
+    private void logCrewmen(ArrayList<Crewman> crewmen) throws IOException {
         crewmen.sort((c1,c2)->{
             if (c1 instanceof General && c2 instanceof General) {
                 return Integer.compare(((General) c2).getCombatPower(), ((General) c1).getCombatPower());
@@ -60,18 +58,19 @@ public class OutputGenerator {
             else
                 type = "Officer";
 
+            logFile.append(type).append(' ').append(crewman.getName());
             switch (crewman.getState()) {
-                case DEAD -> log(String.format("%s %s is killed by %s\n", type, crewman.getName(), crewman.getKilledBy().getName()));
-                case FREE -> log(String.format("%s %s is free\n", type, crewman.getName()));
-                case ONBOARD, CAPTURED -> log(String.format("%s %s is in %s\n", type, crewman.getName(), crewman.getCurrentWarship().getName()));
-                case IMPRISONED -> log(String.format("%s %s is imprisoned\n", type, crewman.getName()));
+                case DEAD -> logFile.append(" is killed by ").append(crewman.getKilledBy().getName()).append('\n');
+                case FREE -> logFile.append(" is free\n");
+                case ONBOARD, CAPTURED -> logFile.append(" is in ").append(crewman.getCurrentWarship().getName()).append('\n');
+                case IMPRISONED -> logFile.append(" is imprisoned\n");
             }
             if (type.equals("Officer") ) {
                 Officer o = (Officer) crewman;
-                log(String.format("%s %d\n", o.getIntrinsic().name(),o.getIntrinsicLevel()));
+                logFile.append(o.getIntrinsic().name()).append(' ').append(o.getIntrinsicLevel()).append('\n');
             }else{
                 General g = (General) crewman;
-                log(String.format("%d\n",g.getCombatPower()));
+                logFile.append(g.getCombatPower()).append('\n');
             }
         }
 
@@ -80,51 +79,42 @@ public class OutputGenerator {
     /**
      * writes final warships state to the logFile
      * @param warships ArrayList of warships entities
+     * @throws IOException if the logFile cannot be written
      */
-    private void logWarships(ArrayList<Warship> warships){
+    private void logWarships(ArrayList<Warship> warships) throws IOException {
         Collections.sort(warships);
 
         for (Warship warship : warships) {
             if (warship.getState() == WarshipState.DESTROYED) {
-                log(String.format("Warship %s is destroyed by %s in (%s,%d)\n",
-                        warship.getName(),
-                        warship.getDestroyedBy().getName(),
-                        warship.getCurrentSector().getName(),
-                        warship.getCoordinate()));
+                logFile.append("Warship ").append(warship.getName())
+                        .append(" is destroyed by ").append(warship.getDestroyedBy().getName())
+                        .append(" in (").append(warship.getCurrentSector().getName())
+                        .append(',').append(warship.getCoordinate()).append(")\n");
             } else {
-                log(String.format("Warship %s in (%s, %d)\n%s %d\n",
-                        warship.getName(),
-                        warship.getCurrentSector().getName(),
-                        warship.getCoordinate(),
-                        warship.getCommander().getName(),
-                        warship.getPowerOutput()));
+                logFile.append("Warship ").append(warship.getName())
+                        .append(" in (").append(warship.getCurrentSector().getName())
+                        .append(", ").append(warship.getCoordinate()).append(")\n")
+                        .append(warship.getCommander().getName())
+                        .append(' ').append(warship.getPowerOutput()).append('\n');
             }
         }
     }
 
-    /**
-     * writes to the logFile
-     * @param s string to write
-     */
-    private void log(String s){
-        try {
-            logFile.write(s);
-            logFile.flush();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
     /**
      * generates final states of entities and writes to the logFile
+     * lines are formatted into a reusable buffer, which is written out when full and once more at the end
+     * the buffer is written out and closed even if formatting fails, so the lines formatted so far are kept
+     * @return false if the logFile could not be opened or written
      */
-    public void generateOutput() {
-        logWarships(warships);
-        logCrewmen(crewMen);
-        try {
-            logFile.close();
+    public boolean generateOutput() {
+        if (logFile == null) return false;
+        try (OutputBuffer out = logFile) {
+            logWarships(warships);
+            logCrewmen(crewMen);
+            return true;
         } catch (IOException e) {
             e.printStackTrace();
+            return false;
         }
     }
 }
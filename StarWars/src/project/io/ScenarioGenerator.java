@@ -0,0 +1,207 @@
+package project.io;
+
+import project.enums.Affiliation;
+import project.enums.EventType;
+import project.enums.Intrinsic;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Random;
+
+/**
+ * Generates valid input files in the InputReader format at any scale, for stress testing
+ * the same seed and parameters always give the same file
+ * every warship gets a commander of its own side, crews never exceed the class capacity
+ * and no crewman is part of two crews
+ */
+public class ScenarioGenerator {
+    private long seed = 0;
+    private int sectors = 3;
+    private int officers = 100;
+    private int jedi = 50;
+    private int sith = 50;
+    private int cruisers = 20;
+    private int destroyers = 10;
+    private int frigates = 5;
+    private int battleships = 5;
+    private int crewSize = 5;
+    private int coordinates = 1000;
+    private long events = 1000;
+    private final EnumMap<EventType, Integer> weights = new EnumMap<>(EventType.class);
+
+    /**
+     * creates a generator with a small default scenario and an even event-type distribution
+     */
+    public ScenarioGenerator() {
+        for (EventType type : EventType.values()) weights.put(type, 1);
+    }
+
+    /** @param seed seed of the random generator */
+    public ScenarioGenerator seed(long seed) { this.seed = seed; return this; }
+    /** @param sectors number of sectors */
+    public ScenarioGenerator sectors(int sectors) { this.sectors = sectors; return this; }
+    /** @param officers number of officers */
+    public ScenarioGenerator officers(int officers) { this.officers = officers; return this; }
+    /** @param jedi number of Jedi */
+    public ScenarioGenerator jedi(int jedi) { this.jedi = jedi; return this; }
+    /** @param sith number of Sith */
+    public ScenarioGenerator sith(int sith) { this.sith = sith; return this; }
+    /** @param cruisers number of RepublicCruisers */
+    public ScenarioGenerator cruisers(int cruisers) { this.cruisers = cruisers; return this; }
+    /** @param destroyers number of SeparatistDestroyers */
+    public ScenarioGenerator destroyers(int destroyers) { this.destroyers = destroyers; return this; }
+    /** @param frigates number of SeparatistFrigates */
+    public ScenarioGenerator frigates(int frigates) { this.frigates = frigates; return this; }
+    /** @param battleships number of SeparatistBattleships */
+    public ScenarioGenerator battleships(int battleships) { this.battleships = battleships; return this; }
+    /** @param crewSize crew size of each warship, commander included, capped by the class capacity */
+    public ScenarioGenerator crewSize(int crewSize) { this.crewSize = crewSize; return this; }
+    /** @param coordinates coordinates are drawn from [0, coordinates) */
+    public ScenarioGenerator coordinates(int coordinates) { this.coordinates = coordinates; return this; }
+    /** @param events number of events, at most Integer.MAX_VALUE */
+    public ScenarioGenerator events(long events) { this.events = events; return this; }
+
+    /**
+     * @param type event type
+     * @param weight relative frequency of the event type, 0 disables it
+     */
+    public ScenarioGenerator weight(EventType type, int weight) {
+        weights.put(type, weight);
+        return this;
+    }
+
+    /**
+     * writes the scenario
+     * @param fileName name of the file to write to
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the parameters cannot give a valid scenario
+     */
+    public void write(String fileName) throws IOException {
+        if (events > Integer.MAX_VALUE) throw new IllegalArgumentException("too many events: " + events);
+        if (jedi < cruisers) throw new IllegalArgumentException("every RepublicCruiser needs a Jedi commander");
+        if (sith < destroyers + frigates + battleships) throw new IllegalArgumentException("every Separatist warship needs a Sith commander");
+        Random random = new Random(seed);
+        try (OutputBuffer out = new OutputBuffer(fileName)) {
+            writeSectors(out, random);
+            int[] crewmanTypes = writeCrewmen(out, random);
+            int warshipCount = writeWarships(out, random, crewmanTypes);
+            writeEvents(out, random, crewmanTypes.length - 1, warshipCount);
+        }
+    }
+
+    private void writeSectors(OutputBuffer out, Random random) throws IOException {
+        out.append(sectors).append('\n');
+        for (int i = 1; i <= sectors; i++) {
+            Affiliation affiliation = random.nextBoolean() ? Affiliation.REPUBLIC : Affiliation.SEPARATISTS;
+            out.append("Sector-").append(i).append(' ').append(affiliation.name()).append('\n');
+        }
+    }
+
+    /**
+     * @return type of every crewman indexed by id: 0 officer, 1 Jedi, 2 Sith
+     */
+    private int[] writeCrewmen(OutputBuffer out, Random random) throws IOException {
+        ArrayList<Integer> types = new ArrayList<>(officers + jedi + sith);
+        for (int i = 0; i < officers; i++) types.add(0);
+        for (int i = 0; i < jedi; i++) types.add(1);
+        for (int i = 0; i < sith; i++) types.add(2);
+        Collections.shuffle(types, random);
+        int[] crewmanTypes = new int[types.size() + 1];
+        Intrinsic[] intrinsics = Intrinsic.values();
+        out.append(types.size()).append('\n');
+        for (int i = 1; i <= types.size(); i++) {
+            crewmanTypes[i] = types.get(i - 1);
+            switch (crewmanTypes[i]) {
+                case 0 -> out.append("Officer Officer-").append(i).append(' ')
+                        .append(intrinsics[random.nextInt(intrinsics.length)].name()).append(' ')
+                        .append(1 + random.nextInt(10)).append('\n');
+                case 1 -> out.append("Jedi Jedi-").append(i).append(' ').append(random.nextInt(1000)).append(' ')
+                        .append(1 + random.nextInt(100)).append(' ').append(1 + random.nextInt(200)).append('\n');
+                default -> out.append("Sith Sith-").append(i).append(' ').append(random.nextInt(1000)).append(' ')
+                        .append(1 + random.nextInt(100)).append(' ').append(1 + random.nextInt(200)).append('\n');
+            }
+        }
+        return crewmanTypes;
+    }
+
+    /**
+     * @return number of warships
+     */
+    private int writeWarships(OutputBuffer out, Random random, int[] crewmanTypes) throws IOException {
+        ArrayList<Integer> classes = new ArrayList<>();
+        for (int i = 0; i < cruisers; i++) classes.add(0);
+        for (int i = 0; i < destroyers; i++) classes.add(1);
+        for (int i = 0; i < frigates; i++) classes.add(2);
+        for (int i = 0; i < battleships; i++) classes.add(3);
+        Collections.shuffle(classes, random);
+        ArrayDeque<Integer> freeOfficers = new ArrayDeque<>();
+        ArrayDeque<Integer> freeJedi = new ArrayDeque<>();
+        ArrayDeque<Integer> freeSith = new ArrayDeque<>();
+        for (int i = 1; i < crewmanTypes.length; i++) {
+            (crewmanTypes[i] == 0 ? freeOfficers : crewmanTypes[i] == 1 ? freeJedi : freeSith).add(i);
+        }
+        String[] classNames = {"RepublicCruiser", "SeparatistDestroyer", "SeparatistFrigate", "SeparatistBattleship"};
+        String[] shipNames = {"Cruiser-", "Destroyer-", "Frigate-", "Battleship-"};
+        int[] capacities = {10, 7, 12, 20};
+        int[] commanders = new int[classes.size()]; // reserved first, so that extra crew never takes a commander away
+        for (int i = 0; i < classes.size(); i++) {
+            commanders[i] = (classes.get(i) == 0 ? freeJedi : freeSith).poll();
+        }
+        int[] crew = new int[20];
+        out.append(classes.size()).append('\n');
+        for (int i = 1; i <= classes.size(); i++) {
+            int c = classes.get(i - 1);
+            ArrayDeque<Integer> generals = c == 0 ? freeJedi : freeSith;
+            int size = 0;
+            crew[size++] = commanders[i - 1];
+            int target = Math.max(1, Math.min(crewSize, capacities[c]));
+            while (size < target && !(freeOfficers.isEmpty() && generals.isEmpty())) {
+                boolean officer = generals.isEmpty() || (!freeOfficers.isEmpty() && random.nextInt(5) != 0);
+                crew[size++] = officer ? freeOfficers.poll() : generals.poll();
+            }
+            out.append(classNames[c]).append(' ').append(shipNames[c]).append(i).append(' ')
+                    .append(1 + random.nextInt(sectors)).append(' ').append(random.nextInt(coordinates)).append('\n');
+            out.append(size);
+            for (int j = 0; j < size; j++) out.append(' ').append(crew[j]);
+            out.append('\n');
+        }
+        return classes.size();
+    }
+
+    private void writeEvents(OutputBuffer out, Random random, int crewmanCount, int warshipCount) throws IOException {
+        EventType[] types = EventType.values();
+        int[] cumulative = new int[types.length];
+        int total = 0;
+        for (int i = 0; i < types.length; i++) {
+            total += weights.get(types[i]);
+            cumulative[i] = total;
+        }
+        if (total <= 0 || warshipCount == 0 || crewmanCount == 0) {
+            out.append(0).append('\n');
+            return;
+        }
+        out.append((int) events).append('\n');
+        for (long e = 0; e < events; e++) {
+            int pick = random.nextInt(total);
+            int t = 0;
+            while (cumulative[t] <= pick) t++;
+            int warship = 1 + random.nextInt(warshipCount);
+            switch (types[t]) {
+                case ATTACK -> out.append("10 ").append(warship).append(' ').append(1 + random.nextInt(warshipCount));
+                case ASSAULT -> out.append("11 ").append(1 + random.nextInt(sectors));
+                case JUMP_TO_SECTOR -> out.append("20 ").append(warship).append(' ')
+                        .append(1 + random.nextInt(sectors)).append(' ').append(random.nextInt(coordinates));
+                case VISIT_COROUSANT -> out.append("30 ").append(warship);
+                case ADD_CREWMAN -> out.append("40 ").append(1 + random.nextInt(crewmanCount)).append(' ').append(warship);
+                case REMOVE_CREWMAN -> out.append("41 ").append(1 + random.nextInt(crewmanCount)).append(' ').append(warship);
+                case TRAIN_OFFICER -> out.append("50 ").append(1 + random.nextInt(crewmanCount));
+                case UPGRADE_SHIELD -> out.append("51 ").append(warship).append(" Shield ").append(1 + random.nextInt(100));
+                case UPGRADE_ARMAMENT -> out.append("51 ").append(warship).append(" Armament ").append(1 + random.nextInt(100));
+            }
+            out.append('\n');
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package project.io;
+
+import project.crewman.Crewman;
+import project.crewman.General;
+import project.crewman.concrete.Jedi;
+import project.crewman.concrete.Officer;
+import project.crewman.concrete.Sith;
+import project.enums.Affiliation;
+import project.enums.CrewmanState;
+import project.enums.Intrinsic;
+import project.enums.WarshipState;
+import project.sector.Sector;
+import project.util.Registry;
+import project.warships.Warship;
+import project.warships.WarshipFactory;
+import project.warships.concrete.RepublicCruiser;
+import project.warships.concrete.SeparatistDestroyer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary snapshot of the whole world: sectors, warships and crewmen with all of their mutable state
+ *
+ * layout (big-endian, strings are modified UTF-8 as written by DataOutputStream.writeUTF):
+ *  header   : magic int, version int
+ *  sectors  : count, then per sector id, name, affiliation ordinal
+ *  crewmen  : count, then per crewman kind byte (0 Officer, 1 Jedi, 2 Sith), id, name, followed by
+ *             Officer: intrinsic ordinal, intrinsic level
+ *             Jedi   : experience, midichlorian, intelligence, sanity
+ *             Sith   : experience, midichlorian, persuasion
+ *  warships : count, then per warship registered class name (see WarshipFactory.nameOf), id, name, sector id, coordinate,
+ *             armament power, shield power, state ordinal, escape pods (-1 if not a Separatist destroyer),
+ *             crew ids in boarding order, captive ids (cruisers only, -1 otherwise)
+ *  links    : per warship destroyedBy id, per crewman state ordinal, killedBy id, currentWarship id (0 for none)
+ * links are written last, so every referenced entity exists when they are restored
+ * ids start from 1
+ */
+public class Snapshot {
+    private static final int MAGIC = 0x53575331; // "SWS1"
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private Snapshot() {
+    }
+
+    /**
+     * writes a snapshot of the world to the file
+     * @param fileName file to be written
+     * @param sectors Registry containing all sectors
+     * @param warships Registry containing all warships
+     * @param crewMen Registry containing all crewmen
+     * @throws IOException if the file cannot be written
+     */
+    public static void save(String fileName, Registry<Sector> sectors, Registry<Warship> warships, Registry<Crewman> crewMen) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName), BUFFER_SIZE))) {
+            write(out, sectors, warships, crewMen);
+        }
+    }
+
+    /**
+     * reads a snapshot from the file into empty registries
+     * @param fileName file to be read
+     * @param sectors empty Registry to be filled with the sectors
+     * @param warships empty Registry to be filled with the warships
+     * @param crewMen empty Registry to be filled with the crewmen
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    public static void load(String fileName, Registry<Sector> sectors, Registry<Warship> warships, Registry<Crewman> crewMen) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName), BUFFER_SIZE))) {
+            read(in, sectors, warships, crewMen);
+        }
+    }
+
+    /**
+     * complexity: O(n), n being the number of entities and references between them
+     * writes a snapshot of the world to the stream, the stream is left open
+     */
+    public static void write(DataOutputStream out, Registry<Sector> sectors, Registry<Warship> warships, Registry<Crewman> crewMen) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        ArrayList<Sector> sectorList = sectors.values();
+        out.writeInt(sectorList.size());
+        for (Sector sector : sectorList) {
+            out.writeInt(sector.getId());
+            out.writeUTF(sector.getName());
+            out.writeByte(sector.getAffiliation().ordinal());
+        }
+
+        ArrayList<Crewman> crewmanList = crewMen.values();
+        out.writeInt(crewmanList.size());
+        for (Crewman crewman : crewmanList) {
+            if (crewman instanceof Officer officer) {
+                out.writeByte(0);
+                writeName(out, crewman);
+                out.writeByte(officer.getIntrinsic().ordinal());
+                out.writeInt(officer.getIntrinsicLevel());
+            } else if (crewman instanceof Jedi jedi) {
+                out.writeByte(1);
+                writeName(out, crewman);
+                out.writeInt(jedi.getExperience());
+                out.writeInt(jedi.getMidichlorian());
+                out.writeInt(jedi.getIntelligence());
+                out.writeInt(jedi.getSanity());
+            } else if (crewman instanceof Sith sith) {
+                out.writeByte(2);
+                writeName(out, crewman);
+                out.writeInt(sith.getExperience());
+                out.writeInt(sith.getMidichlorian());
+                out.writeInt(sith.getPersuasion());
+            } else {
+                throw new IOException("unsupported crewman class: " + crewman.getClass().getName());
+            }
+        }
+
+        ArrayList<Warship> warshipList = warships.values();
+        out.writeInt(warshipList.size());
+        for (Warship warship : warshipList) {
+            String className = WarshipFactory.nameOf(warship);
+            if (className == null) throw new IOException("unregistered warship class: " + warship.getClass().getName());
+            out.writeUTF(className);
+            out.writeInt(warship.getId());
+            out.writeUTF(warship.getName());
+            out.writeInt(warship.getCurrentSector().getId());
+            out.writeInt(warship.getCoordinate());
+            out.writeInt(warship.getArmamentPower());
+            out.writeInt(warship.getShieldPower());
+            out.writeByte(warship.getState().ordinal());
+            out.writeInt(warship instanceof SeparatistDestroyer destroyer ? destroyer.getEscapePods() : -1);
+            writeIds(out, warship.getCrew());
+            if (warship instanceof RepublicCruiser cruiser) {
+                writeIds(out, cruiser.getCaptives());
+            } else {
+                out.writeInt(-1);
+            }
+        }
+
+        for (Warship warship : warshipList) {
+            out.writeInt(idOf(warship.getDestroyedBy()));
+        }
+        for (Crewman crewman : crewmanList) {
+            out.writeByte(crewman.getState().ordinal());
+            out.writeInt(idOf(crewman.getKilledBy()));
+            out.writeInt(idOf(crewman.getCurrentWarship()));
+        }
+    }
+
+    /**
+     * complexity: O(n*log(n)), warships are inserted into the coordinate index of their sector
+     * reads a snapshot from the stream into empty registries, the stream is left open
+     * crewmen are created with their saved values first, so warships created with their crew cache the right contributions
+     */
+    public static void read(DataInputStream in, Registry<Sector> sectors, Registry<Warship> warships, Registry<Crewman> crewMen) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException("not a snapshot");
+        int version = in.readInt();
+        if (version != VERSION) throw new IOException("unsupported snapshot version " + version);
+
+        int sectorCount = in.readInt();
+        for (int i = 0; i < sectorCount; i++) {
+            int id = in.readInt();
+            String name = in.readUTF();
+            sectors.put(id, new Sector(id, name, Affiliation.values()[in.readByte()]));
+        }
+
+        int crewmanCount = in.readInt();
+        ArrayList<Crewman> crewmanList = new ArrayList<>(crewmanCount);
+        for (int i = 0; i < crewmanCount; i++) {
+            byte kind = in.readByte();
+            int id = in.readInt();
+            String name = in.readUTF();
+            Crewman crewman = switch (kind) {
+                case 0 -> new Officer(id, name, Intrinsic.values()[in.readByte()], in.readInt());
+                case 1 -> {
+                    Jedi jedi = new Jedi(id, name, in.readInt(), in.readInt(), in.readInt());
+                    int sanity = in.readInt();
+                    if (sanity < jedi.getSanity()) jedi.reduceSanity(jedi.getSanity() - sanity);
+                    yield jedi;
+                }
+                case 2 -> new Sith(id, name, in.readInt(), in.readInt(), in.readInt());
+                default -> throw new IOException("unknown crewman kind " + kind);
+            };
+            crewMen.put(id, crewman);
+            crewmanList.add(crewman);
+        }
+
+        int warshipCount = in.readInt();
+        ArrayList<Warship> warshipList = new ArrayList<>(warshipCount);
+        int[] armament = new int[warshipCount], shield = new int[warshipCount];
+        WarshipState[] states = new WarshipState[warshipCount];
+        for (int i = 0; i < warshipCount; i++) {
+            String className = in.readUTF();
+            int id = in.readInt();
+            String name = in.readUTF();
+            Sector sector = sectors.get(in.readInt());
+            int coordinate = in.readInt();
+            armament[i] = in.readInt();
+            shield[i] = in.readInt();
+            states[i] = WarshipState.values()[in.readByte()];
+            int escapePods = in.readInt();
+            ArrayList<Crewman> crew = readCrewmen(in, crewMen);
+            Warship warship = WarshipFactory.create(className, id, name, sector, coordinate, crew);
+            if (warship instanceof SeparatistDestroyer destroyer) destroyer.setEscapePods(escapePods);
+            int captiveCount = in.readInt();
+            for (int j = 0; j < captiveCount; j++) {
+                ((RepublicCruiser) warship).getCaptives().add(crewMen.get(in.readInt()));
+            }
+            warships.put(id, warship);
+            warshipList.add(warship);
+        }
+
+        for (int i = 0; i < warshipCount; i++) {
+            Warship warship = warshipList.get(i);
+            warship.restore(armament[i], shield[i], states[i], warships.get(in.readInt()));
+            if (states[i] != WarshipState.DESTROYED) warship.getCurrentSector().addWarship(warship);
+        }
+        for (Crewman crewman : crewmanList) {
+            CrewmanState state = CrewmanState.values()[in.readByte()];
+            Crewman killedBy = crewMen.get(in.readInt());
+            if (killedBy != null) crewman.setKilledBy((General) killedBy);
+            crewman.setState(state);
+            crewman.setCurrentWarship(warships.get(in.readInt()));
+        }
+    }
+
+    private static void writeName(DataOutputStream out, Crewman crewman) throws IOException {
+        out.writeInt(crewman.getId());
+        out.writeUTF(crewman.getName());
+    }
+
+    private static void writeIds(DataOutputStream out, List<Crewman> crewmen) throws IOException {
+        out.writeInt(crewmen.size());
+        for (Crewman crewman : crewmen) out.writeInt(crewman.getId());
+    }
+
+    private static ArrayList<Crewman> readCrewmen(DataInputStream in, Registry<Crewman> crewMen) throws IOException {
+        int count = in.readInt();
+        ArrayList<Crewman> crewmen = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) crewmen.add(crewMen.get(in.readInt()));
+        return crewmen;
+    }
+
+    /**
+     * @return id of the entity, 0 for null
+     */
+    private static int idOf(Warship warship) {
+        return warship == null ? 0 : warship.getId();
+    }
+
+    private static int idOf(Crewman crewman) {
+        return crewman == null ? 0 : crewman.getId();
+    }
+}
@@ -0,0 +1,174 @@
+package project.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * Byte level whitespace tokenizer over a file, replacement for java.util.Scanner
+ * integers are parsed straight from the bytes, without regular expressions or String allocation
+ * the file is closed by close, or as soon as its end is reached
+ */
+class Tokenizer implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private final FileChannel channel;
+    protected ByteBuffer buffer;
+    private boolean eof;
+    private byte[] token = new byte[64];
+    private int tokenLength;
+
+    /**
+     * opens the file for reading
+     * @param fileName name of the file to be read
+     * @throws IOException if the file cannot be opened
+     */
+    Tokenizer(String fileName) throws IOException {
+        this.channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocate(0);
+    }
+
+    /**
+     * @return the channel the tokenizer reads from
+     */
+    protected FileChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * refills the buffer with the next bytes of the file
+     * @return false if the end of the file is reached
+     * @throws IOException if the file cannot be read
+     */
+    protected boolean fill() throws IOException {
+        if (buffer.capacity() < BUFFER_SIZE) buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.clear();
+        int read = channel.read(buffer);
+        while (read == 0) read = channel.read(buffer);
+        buffer.flip();
+        return read > 0;
+    }
+
+    /**
+     * @return next byte without consuming it, as an unsigned value so that UTF-8 bytes of names are not mistaken
+     * for whitespace or the end of the file, -1 at the end of the file
+     */
+    private int peek() {
+        if (!buffer.hasRemaining()) {
+            if (eof) return -1;
+            try {
+                if (!fill()) {
+                    eof = true;
+                    channel.close();
+                    return -1;
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return buffer.get(buffer.position()) & 0xFF;
+    }
+
+    /**
+     * skips whitespace characters
+     * @return the first non-whitespace byte, -1 at the end of the file
+     */
+    private int skipWhitespace() {
+        int c = peek();
+        while (c != -1 && c <= ' ') {
+            buffer.get();
+            c = peek();
+        }
+        return c;
+    }
+
+    /**
+     * @return true if there is another token in the file
+     */
+    public boolean hasNext() {
+        return skipWhitespace() != -1;
+    }
+
+    /**
+     * parses the next token as an int, the value is accumulated negatively like Integer.parseInt
+     * so that Integer.MIN_VALUE is accepted
+     * @return the parsed int
+     * @throws InputMismatchException if the token is not an int or does not fit in an int
+     */
+    public int nextInt() {
+        int c = skipWhitespace();
+        if (c == -1) throw new NoSuchElementException();
+        boolean negative = c == '-';
+        if (negative) {
+            buffer.get();
+            c = peek();
+        }
+        if (c < '0' || c > '9') throw new InputMismatchException("expected an integer");
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int value = 0;
+        while (c >= '0' && c <= '9') {
+            int digit = c - '0';
+            if (value < limit / 10 || value * 10 < limit + digit) throw new InputMismatchException("integer out of range");
+            value = value * 10 - digit;
+            buffer.get();
+            c = peek();
+        }
+        if (c > ' ') throw new InputMismatchException("expected an integer");
+        return negative ? value : -value;
+    }
+
+    /**
+     * reads the next token into the internal token buffer
+     * it can then be checked with tokenEquals without creating a String
+     */
+    public void nextToken() {
+        int c = skipWhitespace();
+        if (c == -1) throw new NoSuchElementException();
+        tokenLength = 0;
+        while (c > ' ') {
+            if (tokenLength == token.length) {
+                byte[] grown = new byte[token.length * 2];
+                System.arraycopy(token, 0, grown, 0, tokenLength);
+                token = grown;
+            }
+            token[tokenLength++] = buffer.get();
+            c = peek();
+        }
+    }
+
+    /**
+     * @param s ASCII string to compare with
+     * @return true if the last token read by nextToken is equal to s
+     */
+    public boolean tokenEquals(String s) {
+        if (s.length() != tokenLength) return false;
+        for (int i = 0; i < tokenLength; i++) {
+            if (token[i] != s.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the next token as a String
+     */
+    public String next() {
+        nextToken();
+        return new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * closes the file, the remaining tokens are dropped
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        eof = true;
+        buffer = ByteBuffer.allocate(0);
+        channel.close();
+    }
+}
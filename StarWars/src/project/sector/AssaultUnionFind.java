@@ -0,0 +1,102 @@
+package project.sector;
+
+import java.util.*;
+
+/**
+ * Offline union-find for handling the assault event, an alternative to AssaultHandler
+ *
+ * the sweep over a sector visits warships by coordinate, a Republic cruiser targets the leftmost Separatist destroyer
+ * that is not visited yet and is weaker than the cruiser, i.e. the first destroyer j >= start with power[j] < p,
+ * where start is the number of destroyers before the cruiser
+ *
+ * the queries are answered offline in decreasing order of p: every destroyer with power >= p is deleted,
+ * once deleted it stays deleted for all weaker cruisers, and next(j) finds the first destroyer >= j that is
+ * not deleted through a union-find with path compression
+ * complexity: O(n*log n) for sorting the powers, O(n*α(n)) for the queries
+ * the arrays are kept between assaults and only grow, one instance is owned by each sector
+ */
+public class AssaultUnionFind {
+    private int destroyerCount;
+    private int cruiserCount;
+    private int[] destroyerPower = new int[16];
+    private int[] cruiserPower = new int[16];
+    private int[] cruiserStart = new int[16];
+    private int[] targets = new int[16];
+    private int[] next = new int[17]; // next[j] == j if destroyer j is not deleted, next[destroyerCount] is the sentinel
+    private long[] destroyerOrder = new long[16];
+    private long[] cruiserOrder = new long[16];
+
+    /**
+     * starts a new assault
+     */
+    public void clear() {
+        destroyerCount = 0;
+        cruiserCount = 0;
+    }
+
+    /**
+     * complexity: O(1) amortized
+     * @param power power of the next Separatist destroyer in coordinate order
+     */
+    public void addDestroyer(int power) {
+        if (destroyerCount == destroyerPower.length) destroyerPower = Arrays.copyOf(destroyerPower, destroyerCount * 2);
+        destroyerPower[destroyerCount++] = power;
+    }
+
+    /**
+     * complexity: O(1) amortized
+     * @param power power of the next Republic cruiser in coordinate order
+     */
+    public void addCruiser(int power) {
+        if (cruiserCount == cruiserPower.length) {
+            cruiserPower = Arrays.copyOf(cruiserPower, cruiserCount * 2);
+            cruiserStart = Arrays.copyOf(cruiserStart, cruiserCount * 2);
+        }
+        cruiserPower[cruiserCount] = power;
+        cruiserStart[cruiserCount++] = destroyerCount;
+    }
+
+    /**
+     * complexity: O(n*log n)
+     * @return for the i-th added cruiser, the index of its target among the added destroyers / -1 if no target,
+     * only the first cruiser count entries are valid
+     */
+    public int[] solve() {
+        if (targets.length < cruiserCount) targets = new int[cruiserPower.length];
+        if (next.length <= destroyerCount) next = new int[destroyerPower.length + 1];
+        if (destroyerOrder.length < destroyerCount) destroyerOrder = new long[destroyerPower.length];
+        if (cruiserOrder.length < cruiserCount) cruiserOrder = new long[cruiserPower.length];
+        for (int j = 0; j <= destroyerCount; j++) next[j] = j;
+        // power in the high half, index in the low half, so sorting the keys sorts the indexes by power
+        for (int j = 0; j < destroyerCount; j++) destroyerOrder[j] = ((long) destroyerPower[j] << 32) | j;
+        for (int i = 0; i < cruiserCount; i++) cruiserOrder[i] = ((long) cruiserPower[i] << 32) | i;
+        Arrays.sort(destroyerOrder, 0, destroyerCount);
+        Arrays.sort(cruiserOrder, 0, cruiserCount);
+
+        int deleted = destroyerCount; // destroyers are deleted from the strongest one, destroyerOrder is ascending
+        for (int q = cruiserCount - 1; q >= 0; q--) {
+            int i = (int) cruiserOrder[q];
+            int p = cruiserPower[i];
+            while (deleted > 0 && (int) (destroyerOrder[deleted - 1] >> 32) >= p) {
+                int j = (int) destroyerOrder[--deleted];
+                next[j] = j + 1;
+            }
+            int target = find(cruiserStart[i]);
+            targets[i] = target == destroyerCount ? -1 : target;
+        }
+        return targets;
+    }
+
+    /**
+     * complexity: O(α(n)) amortized, path halving
+     * @param j index of a destroyer
+     * @return the first destroyer index >= j that is not deleted / destroyer count if there is none
+     */
+    private int find(int j) {
+        while (next[j] != j) {
+            next[j] = next[next[j]];
+            j = next[j];
+        }
+        return j;
+    }
+}
@@ -1,6 +1,7 @@
 package project.sector;
 
 import project.enums.Affiliation;
+import project.enums.AssaultEngine;
 import project.enums.WarshipState;
 import project.warships.Warship;
 import project.warships.concrete.SeparatistDestroyer;
@@ -8,10 +9,21 @@ import project.warships.concrete.SeparatistDestroyer;
 import java.util.*;
 
 public class Sector {
+	private static final Comparator<Warship> COORDINATE_ORDER =
+			Comparator.comparingInt(Warship::getCoordinate).thenComparingInt(Warship::getId);
 	private final int id;
 	private final String name;
 	private final Affiliation affiliation;
-	public HashMap<Integer,Warship> warships;
+	// warships ordered by coordinate, then id; a warship's coordinate only changes while it is outside of any sector
+	public final TreeSet<Warship> warships;
+	private AssaultEngine assaultEngine = AssaultEngine.SEGMENT_TREE;
+	// reused by every assault in this sector
+	private final ArrayList<Warship> destroyers = new ArrayList<>();
+	private final ArrayList<Warship> cruisers = new ArrayList<>();
+	private int[] attackers = new int[16]; // attacking cruiser index for every destroyer index, -1 if none
+	private final AssaultHandler assaultHandler = new AssaultHandler();
+	private final AssaultUnionFind assaultUnionFind = new AssaultUnionFind();
+	private int[] treeTargets = new int[16];
 
 	/**
 	 *
@@ -47,23 +59,25 @@ public class Sector {
 		this.id = id;
 		this.name = name;
 		this.affiliation = affiliation;
-		warships = new HashMap<>();
+		warships = new TreeSet<>(COORDINATE_ORDER);
 	}
 
 	/**
+	 * complexity: O(log(n))
 	 * adds the warship to the sector
 	 * @param warship the warship to add to the sector
 	 */
 	public void addWarship(Warship warship){
-		warships.put(warship.getId(), warship);
+		warships.add(warship);
 	}
 
 	/**
-	 * removes the warship from the sector
+	 * complexity: O(log(n))
+	 * removes the warship from the sector, must be called before the warship's coordinate changes
 	 * @param warship the warship to remove from the sector
 	 */
 	public void removeWarship(Warship warship){
-		warships.remove(warship.getId());
+		warships.remove(warship);
 	}
 	
 	
@@ -92,8 +106,7 @@ public class Sector {
 	 */
 	/*
 	public void assault() {
-		ArrayList<Warship> warships = new ArrayList<>(this.warships.values());
-		warships.sort(Comparator.comparingInt(Warship::getCoordinate));
+		ArrayList<Warship> warships = new ArrayList<>(this.warships);
 		boolean[] hasTargeted = new boolean[warships.size()];
 		Arrays.fill(hasTargeted, false);
 		ArrayList<Integer> powers = new ArrayList<>();
@@ -123,59 +136,109 @@ public class Sector {
 	*/
 	
 	/**
-	 * this method uses custom AssaultHandler data structure for handling the assault event
-	 * ADT: AssaultHandler -> building the data structure : O(n)
-	 *  - setTarget(Warship target)          -> set the target of the assault : O(1)
-	 *  - getTarget(Warship republicCruiser) -> get the target of the republicCruiser : O(log n)
-	 *  - setVisited(Warship separatistDestroyer) -> sets separatistDestroyer that got targeted as visited : O(log n)
-	 * details of the data structure can be found in the AssaultHandler class, it is a modified version of the Segment Tree data structure
+	 * selects the algorithm used by the following assaults
+	 * @param assaultEngine algorithm finding the targets of the Republic cruisers
+	 */
+	public void setAssaultEngine(AssaultEngine assaultEngine) {
+		this.assaultEngine = assaultEngine;
+	}
+
+	/**
+	 * every Republic cruiser targets the first Separatist destroyer after it (by coordinate, then id)
+	 * that is weaker than the cruiser and was not passed by the sweep yet,
+	 * a destroyer targeted by several cruisers is attacked by the one with the highest coordinate
+	 * attacks are executed in a fixed order, by destroyer coordinate, then destroyer id, so the outcome does not depend
+	 * on hashing; later attacks see the ships and powers left by earlier ones
+	 * the targets are found by the selected engine (see AssaultEngine):
+	 *  - AssaultHandler: modified Segment Tree swept along the warships : O(n log n)
+	 *  - AssaultUnionFind: offline union-find over the destroyers, queries sorted by power : O(n log n) sorting, O(n*α(n)) queries
 	 *
-	 * procedure: O(n*log n)
-	 * 1 filter Separatist ships to a list                       : O(n)
-	 * 2 create a list of all warships                           : O(n)
-	 * 3 sort the list of warships by their coordinates          : O(n log n)
-	 * 4 sort the list of Separatist ships by their coordinates  : O(n*log n)
-	 * 5 create a AssaultHandler data structure                  : O(n)
-	 * 6 iterate over the warships list                          : O(n)*O(log n)
-	 * 7 	if the warships is a republic cruiser
-	 * 8		get the target of the assault                    : O(log n)
-	 * 9		update the target of the assault                 : O(1)
-	 * 10	else
-	 * 11	   	set the warship as visited                       : O(log n)
-	 * 12 iterate over all the attacks 							 : O(n)
-	 * 13 	execute the attack                                   : O(1)
+	 * procedure: the warships of the sector are already ordered by coordinate, then id
+	 * 1 split the warships into Republic cruisers and Separatist destroyers, keeping the order : O(n)
+	 * 2 find the target index of every cruiser with the selected engine
+	 * 3 iterate over the cruisers                               : O(n)
+	 * 4 	update the attacker of the target                    : O(1)
+	 * 5 iterate over the destroyers in coordinate order         : O(n)
+	 * 6 	execute the attack, if the destroyer was targeted    : O(1)
 	 */
 	public void assault(){
-		ArrayList<Warship> destroyers = new ArrayList<>();
-		ArrayList<Warship> warships = new ArrayList<>();
-		for (Warship warship : this.warships.values()) {
+		destroyers.clear();
+		cruisers.clear();
+		for (Warship warship : warships) {
 			if (warship.getState() == WarshipState.DESTROYED) continue;
-			if (warship instanceof SeparatistDestroyer){
-				destroyers.add(warship);
+			if (warship instanceof SeparatistDestroyer) destroyers.add(warship);
+			else cruisers.add(warship);
+		}
+		if(destroyers.size() == 0 || cruisers.size() == 0) return;
+
+		int[] targets = switch (assaultEngine) {
+			case SEGMENT_TREE -> findTargetsWithSegmentTree();
+			case UNION_FIND -> findTargetsWithUnionFind();
+			case CROSS_CHECK -> {
+				int[] expected = findTargetsWithSegmentTree();
+				int[] actual = findTargetsWithUnionFind();
+				if (!Arrays.equals(expected, 0, cruisers.size(), actual, 0, cruisers.size()))
+					throw new IllegalStateException("assault engines disagree in sector " + id);
+				yield expected;
 			}
-			warships.add(warship);
+		};
+		if (attackers.length < destroyers.size()) attackers = new int[Math.max(destroyers.size(), 2 * attackers.length)];
+		Arrays.fill(attackers, 0, destroyers.size(), -1);
+		for (int i = 0; i < cruisers.size(); i++) {
+			if (targets[i] >= 0) setTarget(targets[i], i);
+		}
+		for (int j = 0; j < destroyers.size(); j++) {
+			if (attackers[j] >= 0) cruisers.get(attackers[j]).attack(destroyers.get(j));
 		}
-		if(destroyers.size() == 0) return;
-		destroyers.sort(Comparator.comparingInt(Warship::getCoordinate));
-		warships.sort(Comparator.comparingInt(Warship::getCoordinate));
 
-		AssaultHandler assaultHandler = new AssaultHandler(destroyers);
+	}
+
+	/**
+	 * complexity: O(n*log n)
+	 * sweeps the warships by coordinate, destroyers are set as visited when they are passed
+	 * @return target index of every cruiser / -1 if no target
+	 */
+	private int[] findTargetsWithSegmentTree() {
+		if (treeTargets.length < cruisers.size()) treeTargets = new int[cruisers.size()];
+		assaultHandler.build(destroyers);
+		int destroyerIndex = 0, cruiserIndex = 0;
 		for (Warship warship : warships) {
-			if (warship.getAffiliation() == Affiliation.REPUBLIC) {
-				var target= assaultHandler.getTarget(warship);
-				if (target != null) {
-					assaultHandler.setTarget(target,warship);
-				}
-			}else {
-				assaultHandler.setVisited(warship);
+			if (warship.getState() == WarshipState.DESTROYED) continue;
+			if (warship instanceof SeparatistDestroyer) {
+				assaultHandler.setVisited(destroyerIndex++);
+			} else {
+				treeTargets[cruiserIndex++] = assaultHandler.getTarget(warship.getPowerOutput());
 			}
 		}
-		var attackMap = assaultHandler.getAttackMap();
-		for (var target : attackMap.keySet()) {
-			var warship = attackMap.get(target);
-			warship.attack(target);
+		return treeTargets;
+	}
+
+	/**
+	 * complexity: O(n*log n) for sorting, O(n*α(n)) for the queries
+	 * @return target index of every cruiser / -1 if no target
+	 */
+	private int[] findTargetsWithUnionFind() {
+		assaultUnionFind.clear();
+		for (Warship warship : warships) {
+			if (warship.getState() == WarshipState.DESTROYED) continue;
+			if (warship instanceof SeparatistDestroyer) assaultUnionFind.addDestroyer(warship.getPowerOutput());
+			else assaultUnionFind.addCruiser(warship.getPowerOutput());
 		}
+		return assaultUnionFind.solve();
+	}
 
+	/**
+	 * complexity : O(1)
+	 * adds the cruiser to target's potential attackers,
+	 * if the target has no attacker yet, then the cruiser is its only attacker
+	 * else if the previous attacker's coordinate is less than the cruiser's coordinate, then replace the previous attacker with the cruiser
+	 *
+	 * @param target index of the Separatist destroyer that is being targeted
+	 * @param cruiser index of the Republican cruiser that targets
+	 */
+	private void setTarget(int target, int cruiser){
+		int previous = attackers[target];
+		if (previous < 0 || cruisers.get(previous).getCoordinate() < cruisers.get(cruiser).getCoordinate()) attackers[target] = cruiser;
 	}
 
 	@Override
@@ -0,0 +1,83 @@
+package project.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Dense id-indexed container for entities whose ids are assigned as 1..N
+ * lookups are a bounds check plus an array load, missing ids give null like HashMap.get
+ * @param <T> type of the entities
+ */
+public class Registry<T> {
+    private Object[] entities;
+    private int size;
+    private int maxId;
+
+    /**
+     * creates an empty Registry
+     */
+    public Registry() {
+        this(16);
+    }
+
+    /**
+     * creates an empty Registry
+     * @param capacity expected highest id
+     */
+    public Registry(int capacity) {
+        this.entities = new Object[capacity + 1];
+        this.size = 0;
+    }
+
+    /**
+     * complexity: O(1)
+     * @param id id of the entity
+     * @return the entity with the given id / null if there is no such entity
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int id) {
+        if (id < 0 || id >= entities.length) return null;
+        return (T) entities[id];
+    }
+
+    /**
+     * complexity: amortized O(1), the registry grows to fit the id
+     * @param id id of the entity, must not be negative
+     * @param entity entity to be stored
+     */
+    public void put(int id, T entity) {
+        if (id >= entities.length) {
+            entities = Arrays.copyOf(entities, Math.max(id + 1, entities.length * 2));
+        }
+        if (entities[id] == null) size++;
+        entities[id] = entity;
+        if (id > maxId) maxId = id;
+    }
+
+    /**
+     * @return number of entities
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the highest id in the registry, 0 if it is empty
+     */
+    public int maxId() {
+        return maxId;
+    }
+
+    /**
+     * complexity: O(N)
+     * @return all entities in increasing id order
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayList<T> values() {
+        ArrayList<T> values = new ArrayList<>(size);
+        for (Object entity : entities) {
+            if (entity != null) values.add((T) entity);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,83 @@
+package project.warships;
+
+import project.enums.Intrinsic;
+
+import java.util.Arrays;
+
+/**
+ * multiset of the intrinsic levels of the officers in a crew, one per Intrinsic,
+ * keeping track of the maximum level of each Intrinsic
+ */
+class OfficerLevels {
+	private static final int INTRINSIC_COUNT = Intrinsic.values().length;
+	private int[][] counts; // counts[intrinsic][level] = number of officers with that level
+	private final int[] max;
+
+	OfficerLevels() {
+		counts = new int[INTRINSIC_COUNT][11];
+		max = new int[INTRINSIC_COUNT];
+	}
+
+	/**
+	 * complexity : O(1)
+	 * @param intrinsic intrinsic of the officer
+	 * @param level intrinsic level of the officer
+	 */
+	void add(Intrinsic intrinsic, int level) {
+		int i = intrinsic.ordinal();
+		if (level >= counts[i].length) {
+			int[] grown = new int[level + 1];
+			System.arraycopy(counts[i], 0, grown, 0, counts[i].length);
+			counts[i] = grown;
+		}
+		counts[i][level]++;
+		if (max[i] < level) max[i] = level;
+	}
+
+	/**
+	 * complexity : O(1), levels are bounded by 10 in practice
+	 * @param intrinsic intrinsic of the officer
+	 * @param level intrinsic level of the officer
+	 * @throws IllegalStateException if no officer with the given level was added
+	 */
+	void remove(Intrinsic intrinsic, int level) {
+		int i = intrinsic.ordinal();
+		if (level < 0 || level >= counts[i].length || counts[i][level] == 0)
+			throw new IllegalStateException("no officer with " + intrinsic + " level " + level + " to remove");
+		counts[i][level]--;
+		if (level == max[i]) {
+			while (max[i] > 0 && counts[i][max[i]] == 0) max[i]--;
+		}
+	}
+
+	/**
+	 * complexity : O(1)
+	 * @param intrinsic intrinsic to look up
+	 * @return the maximum level of the given intrinsic, 0 if there is no such officer
+	 */
+	int getMax(Intrinsic intrinsic) {
+		return max[intrinsic.ordinal()];
+	}
+
+	/**
+	 * complexity : O(1)
+	 * @return (PILOTING MAX + 1) * (GUNNERY MAX + 1) * (ENGINEERING MAX + 1) * (TACTICAL MAX + 1) * (COMMAND MAX + 1)
+	 */
+	int getContribution() {
+		int occ = 1;
+		for (int m : max) {
+			occ *= (m + 1);
+		}
+		return occ;
+	}
+
+	/**
+	 * removes all officers
+	 */
+	void clear() {
+		for (int[] c : counts) {
+			Arrays.fill(c, 0);
+		}
+		Arrays.fill(max, 0);
+	}
+}
@@ -26,9 +26,10 @@ public abstract class Warship implements IWarship , Comparable<Warship> {
 	protected WarshipState state;
 	protected Warship destroyedBy;
 	protected ArrayList<Crewman> crew;
+	private final TreeSet<General> generals; // generals of the crew, ordered by command priority
+	private final OfficerLevels officerLevels; // intrinsic levels of the officers in the crew
+	private int generalContribution;
 	// TODO: Ids are strictly increasing, can be useful
-	//TODO: don't forget that you have to update TreeSet bu first removing then adding
-	// generals.add(generals.pollFirst());
 
 
 	/**
@@ -56,13 +57,103 @@ public abstract class Warship implements IWarship , Comparable<Warship> {
 		this.state = WarshipState.INTACT;
 		this.destroyedBy = null;
 		this.crew = crew;
+		this.generals = new TreeSet<>();
+		this.officerLevels = new OfficerLevels();
 		crew.forEach(c -> {
 			c.setCurrentWarship(this);
 			c.setState(CrewmanState.ONBOARD);
 			c.setCurrentWarship(this);
+			c.setCrewWarship(this);
+			onCrewmanJoined(c);
 		});
 	}
 
+	/**
+	 * brings the crewman on board as a member of the crew
+	 * @param crewman crewman to be added to the crew
+	 */
+	protected void board(Crewman crewman) {
+		crew.add(crewman);
+		crewman.setState(CrewmanState.ONBOARD);
+		crewman.setCurrentWarship(this);
+		crewman.setCrewWarship(this);
+		onCrewmanJoined(crewman);
+	}
+
+	/**
+	 * removes the crewman from the crew and sets it free
+	 * captives are on board without being part of the crew, they are set free without touching the crew indexes
+	 * @param crewman crewman to leave the warship
+	 */
+	private void disembark(Crewman crewman) {
+		boolean inCrew = crew.remove(crewman);
+		crewman.setState(CrewmanState.FREE);
+		crewman.setCurrentWarship(null);
+		if (inCrew) {
+			crewman.setCrewWarship(null);
+			onCrewmanLeft(crewman);
+		}
+	}
+
+	/**
+	 * complexity: O(log(n)) for generals, O(1) for officers
+	 * updates the cached contributions and the crew indexes after a crewman joined the crew
+	 * @param crewman crewman that joined the crew
+	 */
+	private void onCrewmanJoined(Crewman crewman) {
+		if (crewman instanceof General general) {
+			generals.add(general);
+			generalContribution += general.getCombatPower();
+		} else if (crewman instanceof Officer officer) {
+			officerLevels.add(officer.getIntrinsic(), officer.getIntrinsicLevel());
+		}
+	}
+
+	/**
+	 * complexity: O(log(n)) for generals, O(1) for officers
+	 * updates the cached contributions and the crew indexes after a crewman left the crew
+	 * @param crewman crewman that left the crew
+	 */
+	private void onCrewmanLeft(Crewman crewman) {
+		if (crewman instanceof General general) {
+			generals.remove(general);
+			generalContribution -= general.getCombatPower();
+		} else if (crewman instanceof Officer officer) {
+			officerLevels.remove(officer.getIntrinsic(), officer.getIntrinsicLevel());
+		}
+	}
+
+	/**
+	 * must be called right before a crewman's combat power or intrinsic level changes,
+	 * together with afterCrewmanUpdate once the change is done
+	 * crewmen that are not part of the crew (e.g. captives) are ignored
+	 * crewmen are taken out of the indexes while their old values are still valid
+	 * complexity: O(log(n)) for generals, O(1) for officers, membership is checked through Crewman.getCrewWarship
+	 * @param crewman crewman that is about to change
+	 */
+	public void beforeCrewmanUpdate(Crewman crewman) {
+		if (crewman.getCrewWarship() != this) return;
+		onCrewmanLeft(crewman);
+	}
+
+	/**
+	 * must be called right after a crewman's combat power or intrinsic level changed
+	 * @param crewman crewman that has changed
+	 */
+	public void afterCrewmanUpdate(Crewman crewman) {
+		if (crewman.getCrewWarship() != this) return;
+		onCrewmanJoined(crewman);
+	}
+
+	/**
+	 * complexity: O(1)
+	 * @param intrinsic intrinsic to look up
+	 * @return the highest intrinsic level among the officers of the crew with the given intrinsic, 0 if there is none
+	 */
+	protected int getMaxIntrinsicLevel(Intrinsic intrinsic) {
+		return officerLevels.getMax(intrinsic);
+	}
+
 	/**
 	 *
 	 * @param crewman crewman to be removed from the warship
@@ -71,26 +162,19 @@ public abstract class Warship implements IWarship , Comparable<Warship> {
 	public void removeCrewman(Crewman crewman) {
 		if (crewman.getState() != CrewmanState.ONBOARD) return;
 		if (crewman.getCurrentWarship() != this) return;
-		long generalCount = crew.stream().filter(c -> c instanceof General).count();
 		if (crewman.getState() == CrewmanState.ONBOARD) {
 			if (crewman instanceof General) {
-				if (generalCount> 1) {
-					crew.remove(crewman);
-					crewman.setState(CrewmanState.FREE);
-					crewman.setCurrentWarship(null);
+				if (generals.size() > 1) {
+					disembark(crewman);
 				}
 
 			} else if (crewman instanceof Officer) {
-				crew.remove(crewman);
-				crewman.setState(CrewmanState.FREE);
-				crewman.setCurrentWarship(null);
+				disembark(crewman);
 			}
 		}
 
 	}
 
-	private static HashMap<Intrinsic,Integer> oc = new HashMap<>();
-
 	/**
 	 * A warship’s power output depends on many factors:
 	 * 	Armament Power,
@@ -109,46 +193,27 @@ public abstract class Warship implements IWarship , Comparable<Warship> {
 	 * 													  General’s Contribution+
 	 * 													  Officer’s Contribution )
 	 *
+	 * complexity: O(1), contributions of the crew are cached and kept up to date
+	 * when crewmen join, leave or change (see beforeCrewmanUpdate/afterCrewmanUpdate)
 	 * @return the power of the warship
 	 */
 	@Override
 	public int getPowerOutput() {
 		if (state == WarshipState.DESTROYED)
 			return Integer.MIN_VALUE;
-		int gc =0;
-		Arrays.stream(Intrinsic.values()).forEach(intrinsic -> oc.put(intrinsic,0));
-		for (Crewman crewman : crew) {
-			if (crewman instanceof General) {
-				gc += ((General) crewman).getCombatPower();
-			}else{
-				var officer = (Officer) crewman;
-				if (oc.get(officer.getIntrinsic()) < officer.getIntrinsicLevel())
-					oc.put(officer.getIntrinsic(),officer.getIntrinsicLevel());
-			}
-		}
-		int occ = 1;
-		for (var o : oc.values()) {
-			occ *= (o + 1);
-		}
 		int sectorBuff = this.currentSector.getAffiliation() == this.aﬃliation ? 3 : 2;
 
-		return sectorBuff * (armamentPower + shieldPower + gc + occ);
+		return sectorBuff * (armamentPower + shieldPower + generalContribution + officerLevels.getContribution());
 	}
 
 	/**
-	 *
+	 * complexity: O(log(n)), generals are kept ordered by General.compareTo
 	 * @return the commander of the warship
 	 */
 	@Override
 	public General getCommander() {
-		var ans = crew.stream()
-				.filter(crewman -> crewman instanceof General)
-				.min(Comparator.comparing(g -> ((General) g)));
-		try{
-			return (General) ans.get();
-		}catch (NoSuchElementException e){
-			return null; // should never happen
-		}
+		if (generals.isEmpty()) return null; // should never happen
+		return generals.first();
 	}
 
 	/**
@@ -211,7 +276,11 @@ public abstract class Warship implements IWarship , Comparable<Warship> {
 	 * @param warship sets warship that destroyed this warship
 	 */
 	protected void setDestroyedBy(Warship warship) {
+		this.crew.forEach(c -> c.setCrewWarship(null));
 		this.crew.clear();
+		this.generals.clear();
+		this.officerLevels.clear();
+		this.generalContribution = 0;
 		this.state = WarshipState.DESTROYED;
 		this.currentSector.removeWarship(this);
 		this.destroyedBy = warship;
@@ -274,6 +343,44 @@ public abstract class Warship implements IWarship , Comparable<Warship> {
 		return Id;
 	}
 
+	/**
+	 *
+	 * @return the warship's armament power
+	 */
+	public int getArmamentPower() {
+		return armamentPower;
+	}
+
+	/**
+	 *
+	 * @return the warship's shield power
+	 */
+	public int getShieldPower() {
+		return shieldPower;
+	}
+
+	/**
+	 *
+	 * @return the crew of the warship, in boarding order
+	 */
+	public List<Crewman> getCrew() {
+		return Collections.unmodifiableList(crew);
+	}
+
+	/**
+	 * restores the saved state of a warship created with its saved crew (see Snapshot)
+	 * @param armamentPower saved armament power
+	 * @param shieldPower saved shield power
+	 * @param state saved state
+	 * @param destroyedBy saved warship that destroyed this warship, null if it is not destroyed
+	 */
+	public void restore(int armamentPower, int shieldPower, WarshipState state, Warship destroyedBy) {
+		this.armamentPower = armamentPower;
+		this.shieldPower = shieldPower;
+		this.state = state;
+		this.destroyedBy = destroyedBy;
+	}
+
 	/**
 	 *
 	 * @return the warship's affiliation
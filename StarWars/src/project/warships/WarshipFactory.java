@@ -0,0 +1,81 @@
+package project.warships;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+import project.crewman.Crewman;
+import project.sector.Sector;
+import project.warships.concrete.RepublicCruiser;
+import project.warships.concrete.SeparatistBattleship;
+import project.warships.concrete.SeparatistDestroyer;
+import project.warships.concrete.SeparatistFrigate;
+
+
+/**
+ * registry of warship classes, maps the class name used in input files to the constructor of the class,
+ * and each class back to the name it is registered under, so that saved warships can be created again (see Snapshot)
+ * the concrete warships of the project are registered by default, other classes can be plugged in with register
+ */
+public final class WarshipFactory {
+
+	/**
+	 * constructor of a warship class, same parameters as the concrete warship constructors
+	 */
+	@FunctionalInterface
+	public interface WarshipConstructor {
+		Warship create(int id, String name, Sector currentSector, int coordinate, ArrayList<Crewman> crew);
+	}
+
+	private static final ConcurrentHashMap<String, WarshipConstructor> constructors = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<Class<? extends Warship>, String> names = new ConcurrentHashMap<>();
+
+	static {
+		register("RepublicCruiser", RepublicCruiser.class, RepublicCruiser::new);
+		register("SeparatistDestroyer", SeparatistDestroyer.class, SeparatistDestroyer::new);
+		register("SeparatistFrigate", SeparatistFrigate.class, SeparatistFrigate::new);
+		register("SeparatistBattleship", SeparatistBattleship.class, SeparatistBattleship::new);
+	}
+
+	private WarshipFactory() {
+	}
+
+	/**
+	 * registers a warship class, replacing the previous class registered with the same name
+	 * the name does not have to match the name of the class
+	 * @param className class name used in input files
+	 * @param type class of the warships the constructor creates
+	 * @param constructor constructor of the class
+	 */
+	public static synchronized <W extends Warship> void register(String className, Class<W> type, WarshipConstructor constructor) {
+		names.values().remove(className);
+		constructors.put(className, constructor);
+		names.put(type, className);
+	}
+
+	/**
+	 * complexity: O(1)
+	 * @param warship warship to look up
+	 * @return the name the class of the warship is registered under, null if it is not registered
+	 */
+	public static String nameOf(Warship warship) {
+		return names.get(warship.getClass());
+	}
+
+	/**
+	 * complexity: O(1)
+	 * @param className class name used in input files
+	 * @param id id of the warship
+	 * @param name name of the warship
+	 * @param currentSector current sector of the warship
+	 * @param coordinate coordinate of the warship
+	 * @param crew crew of the warship
+	 * @return the created warship
+	 * @throws IllegalArgumentException if no class is registered with the given name
+	 */
+	public static Warship create(String className, int id, String name, Sector currentSector, int coordinate,
+								 ArrayList<Crewman> crew) {
+		WarshipConstructor constructor = constructors.get(className);
+		if (constructor == null) throw new IllegalArgumentException("unknown warship class: " + className);
+		return constructor.create(id, name, currentSector, coordinate, crew);
+	}
+}
@@ -31,6 +31,14 @@ public class RepublicCruiser extends Warship {
 		this.captives = new ArrayList<>();
 	}
 
+	/**
+	 *
+	 * @return crewmen held captive on this warship
+	 */
+	public List<Crewman> getCaptives() {
+		return captives;
+	}
+
 	/**
 	 * visits Corousant
 	 */
@@ -76,13 +84,9 @@ public class RepublicCruiser extends Warship {
 	public void addCrewman(Crewman crewman) {
 		if (!hasSpace() || crewman.getState()!= CrewmanState.FREE) return;
 		if (crewman instanceof Jedi) {
-			crew.add(crewman);
-			crewman.setState(CrewmanState.ONBOARD);
-			crewman.setCurrentWarship(this);
+			board(crewman);
 		}else if (crewman instanceof Officer) {
-			crew.add(crewman);
-			crewman.setState(CrewmanState.ONBOARD);
-			crewman.setCurrentWarship(this);
+			board(crewman);
 		}
 
 	}
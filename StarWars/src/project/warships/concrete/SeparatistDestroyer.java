@@ -30,6 +30,21 @@ public class SeparatistDestroyer extends Warship {
 		this.escapePods = 1;
 	}
 
+	/**
+	 *
+	 * @return number of generals that can escape when the warship is destroyed
+	 */
+	public int getEscapePods() {
+		return escapePods;
+	}
+
+	/**
+	 * @param escapePods number of generals that can escape when the warship is destroyed
+	 */
+	public void setEscapePods(int escapePods) {
+		this.escapePods = escapePods;
+	}
+
 	/**
 	 * adds a crewman to this warship according to the sith policy
 	 * @param crewman to be added to the warship
@@ -38,19 +53,10 @@ public class SeparatistDestroyer extends Warship {
 	public void addCrewman(Crewman crewman) {
 		if (!hasSpace() || crewman.getState()!= CrewmanState.FREE) return;
 		if (crewman instanceof Sith) {
-			crew.add(crewman);
-			crewman.setState(CrewmanState.ONBOARD);
-			crewman.setCurrentWarship(this);
+			board(crewman);
 		}else if (crewman instanceof Officer o){
-			int maxIntrinsicLevel = crew.stream()
-					.filter(c -> c instanceof Officer)
-					.filter(c -> ((Officer) c).getIntrinsic() == o.getIntrinsic())
-					.map(c -> ((Officer) c).getIntrinsicLevel())
-					.max(Integer::compareTo).orElse(0);
-			if ( maxIntrinsicLevel < o.getIntrinsicLevel() ) {
-				crew.add(o);
-				o.setState(CrewmanState.ONBOARD);
-				o.setCurrentWarship(this);
+			if ( getMaxIntrinsicLevel(o.getIntrinsic()) < o.getIntrinsicLevel() ) {
+				board(o);
 
 			}
 